@@ -4,6 +4,7 @@ import br.com.liston.api.model.Tarefa;
 import br.com.liston.api.repository.TarefaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile; // Importante!
 
@@ -11,6 +12,8 @@ import java.util.List;
 
 @Configuration
 @Profile("dev") // 1. Garante que este bean só será criado no perfil 'dev' (H2)
+// Grava direto no banco, então não roda no modo 'memoria' (os ids lá são atribuídos pelo MemoriaTarefaStore)
+@ConditionalOnProperty(name = "liston.store.modo", havingValue = "jpa", matchIfMissing = true)
 public class DataInitializer implements CommandLineRunner {
 
     @Autowired
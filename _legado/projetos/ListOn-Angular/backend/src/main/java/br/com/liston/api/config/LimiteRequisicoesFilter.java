@@ -0,0 +1,96 @@
+package br.com.liston.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket por cliente (endereço IP) em /api/**: rajadas de até 'capacidade' requisições,
+// repostas a 'porSegundo'. Acima do limite a resposta é 429 com Retry-After, para que um
+// cliente com polling descontrolado não derrube a API para os demais.
+// - Cada balde é um único AtomicLong (forma GCRA do token bucket: o instante em que o balde
+//   volta a ficar cheio), atualizado com um CAS, sem lock. O ConcurrentHashMap já é particionado.
+// - Baldes cheios não guardam estado algum e são removidos periodicamente.
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private static final long INTERVALO_LIMPEZA_NS = TimeUnit.MINUTES.toNanos(1);
+
+    private final long intervaloNs; // Tempo para repor uma ficha
+    private final long rajadaNs;    // Tempo para encher o balde inteiro
+    private final LongSupplier relogio;
+    private final ConcurrentHashMap<String, AtomicLong> baldes = new ConcurrentHashMap<>();
+    private final AtomicLong proximaLimpeza;
+
+    public LimiteRequisicoesFilter(int capacidade, double porSegundo) {
+        this(capacidade, porSegundo, System::nanoTime);
+    }
+
+    LimiteRequisicoesFilter(int capacidade, double porSegundo, LongSupplier relogio) {
+        if (capacidade < 1 || porSegundo <= 0) {
+            throw new IllegalArgumentException("O limite exige capacidade >= 1 e reposição positiva.");
+        }
+        this.intervaloNs = (long) (TimeUnit.SECONDS.toNanos(1) / porSegundo);
+        this.rajadaNs = intervaloNs * capacidade;
+        this.relogio = relogio;
+        this.proximaLimpeza = new AtomicLong(relogio.getAsLong() + INTERVALO_LIMPEZA_NS);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long agora = relogio.getAsLong();
+        long esperaNs = consumir(request.getRemoteAddr(), agora);
+        limparSeNecessario(agora);
+
+        if (esperaNs == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNs + 999_999_999))));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.getWriter().write("{\"status\":429,\"title\":\"Too Many Requests\"}");
+    }
+
+    // Consome uma ficha; devolve 0 se permitido, senão quanto falta para haver uma ficha
+    long consumir(String cliente, long agora) {
+        AtomicLong cheioEm = baldes.computeIfAbsent(cliente, c -> new AtomicLong(agora));
+        while (true) {
+            long atual = cheioEm.get();
+            long novo = Math.max(atual, agora) + intervaloNs;
+            if (novo - agora > rajadaNs) {
+                return novo - agora - rajadaNs;
+            }
+            if (cheioEm.compareAndSet(atual, novo)) {
+                return 0;
+            }
+        }
+    }
+
+    int totalBaldes() {
+        return baldes.size();
+    }
+
+    // Uma requisição por minuto faz a varredura; as demais só leem um valor volátil
+    private void limparSeNecessario(long agora) {
+        long limpeza = proximaLimpeza.get();
+        if (agora - limpeza >= 0 && proximaLimpeza.compareAndSet(limpeza, agora + INTERVALO_LIMPEZA_NS)) {
+            // Um balde cheio equivale a um novo: removê-lo não perde nada
+            baldes.values().removeIf(cheioEm -> cheioEm.get() - agora <= 0);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.liston.api.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -9,12 +11,20 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Token bucket por cliente (ver LimiteRequisicoesFilter)
+    @Value("${liston.limite.capacidade}")
+    private int capacidadeLimite;
+
+    @Value("${liston.limite.por-segundo}")
+    private double limitePorSegundo;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -24,8 +34,14 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             // Garante que nenhuma sessão seja criada no servidor
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            // Autoriza todas as requisições. Simples e direto para desenvolvimento.
-            .authorizeHttpRequests(authorize -> authorize.anyRequest().permitAll());
+            // As métricas (estatísticas de cache e SQL do Hibernate) pedem login; o resto fica aberto para desenvolvimento
+            .authorizeHttpRequests(authorize -> authorize
+                .requestMatchers("/actuator/metrics/**").authenticated()
+                .anyRequest().permitAll())
+            // Usuário e senha de spring.security.user (ver application.yml)
+            .httpBasic(Customizer.withDefaults())
+            // Limite de requisições; depois do CORS para que o 429 chegue legível ao navegador
+            .addFilterAfter(new LimiteRequisicoesFilter(capacidadeLimite, limitePorSegundo), CorsFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,32 @@
+package br.com.liston.api.config;
+
+import br.com.liston.api.repository.TarefaRepository;
+import br.com.liston.api.store.MemoriaTarefaStore;
+import br.com.liston.api.store.ModoConfirmacao;
+import br.com.liston.api.store.TarefaWal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "liston.store.modo", havingValue = "memoria") // Ativa o armazenamento em memória
+public class StoreConfig {
+
+    @Bean(initMethod = "iniciar", destroyMethod = "encerrar")
+    public MemoriaTarefaStore memoriaTarefaStore(
+            TarefaRepository repository,
+            PlatformTransactionManager transactionManager,
+            @Value("${liston.store.wal}") Path arquivoWal,
+            @Value("${liston.store.ack}") ModoConfirmacao modoConfirmacao,
+            @Value("${liston.store.intervalo-gravacao-ms}") long intervaloGravacaoMs,
+            @Value("${liston.store.tamanho-lote}") int tamanhoLote) throws IOException {
+        return new MemoriaTarefaStore(repository, new TransactionTemplate(transactionManager),
+                new TarefaWal(arquivoWal), modoConfirmacao, intervaloGravacaoMs, tamanhoLote);
+    }
+}
@@ -16,9 +16,12 @@ public class TarefaController {
     @Autowired
     private TarefaService service;
 
+    // Com ?titulo=, só as tarefas cujo título contém o termo (sem diferenciar maiúsculas)
     @GetMapping
-    public ResponseEntity<List<TarefaResponseDTO>> listarTodasTarefas() {
-        List<TarefaResponseDTO> tarefas = service.listarTodas();
+    public ResponseEntity<List<TarefaResponseDTO>> listarTodasTarefas(@RequestParam(required = false) String titulo) {
+        List<TarefaResponseDTO> tarefas = titulo == null || titulo.isBlank()
+                ? service.listarTodas()
+                : service.buscarPorTitulo(titulo);
         return ResponseEntity.ok(tarefas); // Retorna 200 OK
     }
 
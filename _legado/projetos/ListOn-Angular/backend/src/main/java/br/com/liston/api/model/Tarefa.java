@@ -3,12 +3,16 @@ package br.com.liston.api.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity // Marca esta classe como uma entidade JPA (tabela no banco)
 @Table(name = "tarefas") // Nome da tabela
 @Data // Lombok: gera getters, setters, equals, hashCode e toString
 @NoArgsConstructor // Lombok: gera um construtor vazio (exigido pelo JPA)
+@Cacheable // Fica no cache de segundo nível do Hibernate; escritas via JPA atualizam/invalidam no commit
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tarefas")
 public class Tarefa {
 
     @Id
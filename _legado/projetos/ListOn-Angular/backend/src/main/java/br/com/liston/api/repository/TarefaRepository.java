@@ -1,9 +1,17 @@
 package br.com.liston.api.repository;
 
+import br.com.liston.api.dto.TarefaResponseDTO;
 import br.com.liston.api.model.Tarefa;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,4 +19,40 @@ public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
 
     // O Spring Data JPA cria a query automaticamente pelo nome do método
     List<Tarefa> findByTituloContainingIgnoreCase(String titulo);
-}
\ No newline at end of file
+
+    // --- Listagens: projetadas direto no DTO de resposta (sem entidades gerenciadas nem snapshots) ---
+    // Os resultados vão para o cache de consultas; qualquer escrita em 'tarefas' os invalida.
+    // A busca por id usa findById: na região de entidades só a tarefa alterada é invalidada
+
+    @Query("select new br.com.liston.api.dto.TarefaResponseDTO(t.id, t.titulo, t.descricao, t.concluida, "
+            + "t.dataCriacao, t.dataAtualizacao) from Tarefa t order by t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TarefaResponseDTO> listarComoDTO();
+
+    @Query("select new br.com.liston.api.dto.TarefaResponseDTO(t.id, t.titulo, t.descricao, t.concluida, "
+            + "t.dataCriacao, t.dataAtualizacao) from Tarefa t "
+            + "where lower(t.titulo) like lower(concat('%', :titulo, '%')) order by t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TarefaResponseDTO> buscarComoDTOPorTitulo(@Param("titulo") String titulo);
+
+    // --- Usados pelo gravador em segundo plano do MemoriaTarefaStore ---
+    // No modo 'memoria' os ids são atribuídos pela aplicação, por isso o insert é nativo.
+    // Escritas em massa (JPQL/nativas) também invalidam as regiões do cache de segundo nível.
+
+    @Modifying
+    @Query("update Tarefa t set t.titulo = :titulo, t.descricao = :descricao, t.concluida = :concluida, "
+            + "t.dataAtualizacao = :dataAtualizacao where t.id = :id")
+    int atualizarEstado(@Param("id") Long id, @Param("titulo") String titulo, @Param("descricao") String descricao,
+                        @Param("concluida") boolean concluida, @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    @Modifying
+    @Query(value = "insert into tarefas (id, titulo, descricao, concluida, data_criacao, data_atualizacao) "
+            + "values (:id, :titulo, :descricao, :concluida, :dataCriacao, :dataAtualizacao)", nativeQuery = true)
+    void inserirComId(@Param("id") Long id, @Param("titulo") String titulo, @Param("descricao") String descricao,
+                      @Param("concluida") boolean concluida, @Param("dataCriacao") LocalDateTime dataCriacao,
+                      @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    @Modifying
+    @Query("delete from Tarefa t where t.id = :id")
+    int removerPorId(@Param("id") Long id);
+}
@@ -2,84 +2,56 @@ package br.com.liston.api.service;
 
 import br.com.liston.api.dto.TarefaRequestDTO;
 import br.com.liston.api.dto.TarefaResponseDTO;
-import br.com.liston.api.model.Tarefa;
-import br.com.liston.api.repository.TarefaRepository;
+import br.com.liston.api.store.TarefaStore;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service // Marca como um componente de serviço (onde fica a lógica)
 public class TarefaService {
 
-    @Autowired // Injeção de dependência do repositório
-    private TarefaRepository repository;
+    @Autowired // JpaTarefaStore (padrão) ou MemoriaTarefaStore, conforme 'liston.store.modo'
+    private TarefaStore store;
 
-    // Busca todas as tarefas e converte para DTO
-    @Transactional(readOnly = true) // Transação apenas de leitura
+    // Busca todas as tarefas
     public List<TarefaResponseDTO> listarTodas() {
-        return repository.findAll()
-                .stream()
-                .map(TarefaResponseDTO::new) // Converte Tarefa -> TarefaResponseDTO
-                .collect(Collectors.toList());
+        return store.listarTodas();
+    }
+
+    // Busca as tarefas cujo título contém o termo
+    public List<TarefaResponseDTO> buscarPorTitulo(String titulo) {
+        return store.buscarPorTitulo(titulo);
     }
 
     // Busca por ID
-    @Transactional(readOnly = true)
     public TarefaResponseDTO buscarPorId(Long id) {
-        Tarefa tarefa = repository.findById(id)
+        return store.buscarPorId(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tarefa não encontrada com id: " + id));
-        return new TarefaResponseDTO(tarefa);
     }
 
     // Cria uma nova tarefa
-    @Transactional
     public TarefaResponseDTO criar(TarefaRequestDTO dto) {
         if (dto.titulo() == null || dto.titulo().isBlank()) {
             throw new IllegalArgumentException("Título é obrigatório.");
         }
 
-        Tarefa novaTarefa = new Tarefa(dto.titulo(), dto.descricao());
-
         // Se 'concluida' foi enviado no DTO, usa o valor. Senão, mantém o padrão (false).
-        if (dto.concluida() != null) {
-            novaTarefa.setConcluida(dto.concluida());
-        }
-
-        Tarefa tarefaSalva = repository.save(novaTarefa);
-        return new TarefaResponseDTO(tarefaSalva);
+        boolean concluida = dto.concluida() != null && dto.concluida();
+        return store.criar(dto.titulo(), dto.descricao(), concluida);
     }
 
     // Atualiza uma tarefa existente
-    @Transactional
     public TarefaResponseDTO atualizar(Long id, TarefaRequestDTO dto) {
-        Tarefa tarefaExistente = repository.findById(id)
+        return store.atualizar(id, dto)
                 .orElseThrow(() -> new EntityNotFoundException("Tarefa não encontrada com id: " + id));
-
-        // Atualiza apenas os campos fornecidos
-        if (dto.titulo() != null && !dto.titulo().isBlank()) {
-            tarefaExistente.setTitulo(dto.titulo());
-        }
-        if (dto.descricao() != null) {
-            tarefaExistente.setDescricao(dto.descricao());
-        }
-        if (dto.concluida() != null) {
-            tarefaExistente.setConcluida(dto.concluida());
-        }
-
-        Tarefa tarefaAtualizada = repository.save(tarefaExistente);
-        return new TarefaResponseDTO(tarefaAtualizada);
     }
 
     // Deleta uma tarefa
-    @Transactional
     public void deletar(Long id) {
-        if (!repository.existsById(id)) {
+        if (!store.deletar(id)) {
             throw new EntityNotFoundException("Tarefa não encontrada com id: " + id);
         }
-        repository.deleteById(id);
     }
-}
\ No newline at end of file
+}
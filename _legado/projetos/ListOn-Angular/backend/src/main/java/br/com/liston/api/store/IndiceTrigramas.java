@@ -0,0 +1,65 @@
+package br.com.liston.api.store;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Índice de títulos do MemoriaTarefaStore: cada trigrama (3 caracteres seguidos do título em minúsculas)
+// aponta para os ids que o contêm. Uma busca por "abcd" intersecta os ids de "abc" e "bcd", começando
+// pela lista menor, e só os candidatos passam pelo contains(). Termos com menos de 3 caracteres não têm
+// trigrama e devolvem null, para o chamador percorrer todas as tarefas.
+// Escritas são feitas sob o lockEscrita do store; leituras não travam e podem ver uma escrita pela metade,
+// por isso o store sempre confere o título atual dos candidatos.
+class IndiceTrigramas {
+
+    private static final int N = 3;
+
+    private final ConcurrentHashMap<String, Set<Long>> ids = new ConcurrentHashMap<>();
+
+    // 'anterior' é null numa inclusão; 'novo' é null numa remoção
+    void atualizar(Long id, String anterior, String novo) {
+        Set<String> antigos = anterior == null ? Set.of() : trigramas(anterior);
+        Set<String> novos = novo == null ? Set.of() : trigramas(novo);
+        // Acrescenta antes de remover: quem busca pelo título novo não fica sem o id no meio da troca
+        for (String trigrama : novos) {
+            if (!antigos.contains(trigrama)) {
+                ids.computeIfAbsent(trigrama, t -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+        for (String trigrama : antigos) {
+            if (!novos.contains(trigrama)) {
+                ids.computeIfPresent(trigrama, (t, conjunto) -> {
+                    conjunto.remove(id);
+                    return conjunto.isEmpty() ? null : conjunto;
+                });
+            }
+        }
+    }
+
+    // Ids que contêm todos os trigramas de 'termo' (já em minúsculas), ou null se o termo é curto demais
+    Set<Long> candidatos(String termo) {
+        Set<String> doTermo = trigramas(termo);
+        if (doTermo.isEmpty()) {
+            return null;
+        }
+        List<Set<Long>> listas = doTermo.stream()
+                .map(trigrama -> ids.getOrDefault(trigrama, Set.of()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .toList();
+        Set<Long> resultado = new HashSet<>(listas.get(0));
+        for (int i = 1; i < listas.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(listas.get(i));
+        }
+        return resultado;
+    }
+
+    static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new HashSet<>();
+        for (int i = 0; i + N <= texto.length(); i++) {
+            trigramas.add(texto.substring(i, i + N));
+        }
+        return trigramas;
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.liston.api.store;
+
+import br.com.liston.api.dto.TarefaRequestDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import br.com.liston.api.model.Tarefa;
+import br.com.liston.api.repository.TarefaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component // Armazenamento padrão: cada operação vai direto ao banco via JPA
+@ConditionalOnProperty(name = "liston.store.modo", havingValue = "jpa", matchIfMissing = true)
+public class JpaTarefaStore implements TarefaStore {
+
+    @Autowired // Injeção de dependência do repositório
+    private TarefaRepository repository;
+
+    @Override
+    @Transactional(readOnly = true) // Transação apenas de leitura
+    public List<TarefaResponseDTO> listarTodas() {
+        return repository.listarComoDTO(); // A consulta já devolve TarefaResponseDTO
+    }
+
+    @Override
+    @Transactional(readOnly = true) // Vem do cache de segundo nível; sem snapshot numa transação somente leitura
+    public Optional<TarefaResponseDTO> buscarPorId(Long id) {
+        return repository.findById(id).map(TarefaResponseDTO::new);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TarefaResponseDTO> buscarPorTitulo(String titulo) {
+        return repository.buscarComoDTOPorTitulo(titulo);
+    }
+
+    @Override
+    @Transactional
+    public TarefaResponseDTO criar(String titulo, String descricao, boolean concluida) {
+        Tarefa novaTarefa = new Tarefa(titulo, descricao);
+        novaTarefa.setConcluida(concluida);
+        return new TarefaResponseDTO(repository.save(novaTarefa));
+    }
+
+    @Override
+    @Transactional
+    public Optional<TarefaResponseDTO> atualizar(Long id, TarefaRequestDTO dto) {
+        return repository.findById(id).map(tarefaExistente -> {
+            // Atualiza apenas os campos fornecidos
+            if (dto.titulo() != null && !dto.titulo().isBlank()) {
+                tarefaExistente.setTitulo(dto.titulo());
+            }
+            if (dto.descricao() != null) {
+                tarefaExistente.setDescricao(dto.descricao());
+            }
+            if (dto.concluida() != null) {
+                tarefaExistente.setConcluida(dto.concluida());
+            }
+            return new TarefaResponseDTO(repository.save(tarefaExistente));
+        });
+    }
+
+    @Override
+    @Transactional
+    public boolean deletar(Long id) {
+        if (!repository.existsById(id)) {
+            return false;
+        }
+        repository.deleteById(id);
+        return true;
+    }
+}
@@ -0,0 +1,295 @@
+package br.com.liston.api.store;
+
+import br.com.liston.api.dto.TarefaRequestDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import br.com.liston.api.repository.TarefaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+// Armazenamento em memória com write-behind (liston.store.modo=memoria).
+// - Leituras: servidas sem lock a partir de um ConcurrentHashMap de DTOs imutáveis.
+// - Escritas: aplicadas no mapa e anexadas ao TarefaWal; um gravador em segundo plano
+//   leva ao banco, em lotes, apenas o último estado de cada tarefa alterada.
+// - Busca por título: um IndiceTrigramas reduz os candidatos antes do contains().
+// - Ao iniciar, carrega o banco e reaplica o WAL, recuperando escritas que não chegaram ao banco.
+public class MemoriaTarefaStore implements TarefaStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MemoriaTarefaStore.class);
+    private static final long TIMEOUT_CONFIRMACAO_SEGUNDOS = 30;
+
+    private final TarefaRepository repository;
+    private final TransactionTemplate transacao;
+    private final TarefaWal wal;
+    private final ModoConfirmacao modoConfirmacao;
+    private final long intervaloGravacaoMs;
+    private final int tamanhoLote;
+
+    // Tarefa + título em minúsculas pré-calculado, usado pela busca por título
+    private record Entrada(TarefaResponseDTO tarefa, String tituloNormalizado) {
+        Entrada(TarefaResponseDTO tarefa) {
+            this(tarefa, tarefa.titulo().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Entrada> tarefas = new ConcurrentHashMap<>();
+    private final IndiceTrigramas indiceTitulos = new IndiceTrigramas(); // Alterado junto com 'tarefas'
+
+    // Protege a ordem "id -> WAL -> mapa -> pendentes"; leituras nunca o adquirem
+    private final Object lockEscrita = new Object();
+    private long ultimoId;
+    private Map<Long, RegistroWal> pendentes = new HashMap<>(); // Último registro por id ainda não gravado
+
+    private final ConcurrentSkipListMap<Long, CompletableFuture<Void>> aguardandoBanco = new ConcurrentSkipListMap<>();
+    private volatile long seqGravada;
+
+    private final ScheduledExecutorService gravador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "tarefa-gravador");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MemoriaTarefaStore(TarefaRepository repository, TransactionTemplate transacao, TarefaWal wal,
+                              ModoConfirmacao modoConfirmacao, long intervaloGravacaoMs, int tamanhoLote) {
+        this.repository = repository;
+        this.transacao = transacao;
+        this.wal = wal;
+        this.modoConfirmacao = modoConfirmacao;
+        this.intervaloGravacaoMs = intervaloGravacaoMs;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public void iniciar() throws IOException {
+        List<RegistroWal> recuperados = wal.ler();
+        synchronized (lockEscrita) {
+            repository.listarComoDTO().forEach(tarefa -> colocar(new Entrada(tarefa)));
+            for (RegistroWal registro : recuperados) {
+                aplicar(registro);
+            }
+            ultimoId = tarefas.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+            for (RegistroWal registro : recuperados) {
+                ultimoId = Math.max(ultimoId, registro.id());
+            }
+        }
+        if (!recuperados.isEmpty()) {
+            log.info("WAL: {} registro(s) recuperado(s) e reenfileirado(s) para gravação", recuperados.size());
+        }
+
+        gravador.scheduleWithFixedDelay(this::gravarPendentes, 0, intervaloGravacaoMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Grava o que estiver pendente e fecha o WAL
+    public void encerrar() throws IOException {
+        gravador.shutdown();
+        try {
+            gravador.awaitTermination(TIMEOUT_CONFIRMACAO_SEGUNDOS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        gravarPendentes();
+        wal.close();
+    }
+
+    @Override
+    public List<TarefaResponseDTO> listarTodas() {
+        return tarefas.values().stream()
+                .map(Entrada::tarefa)
+                .sorted(Comparator.comparing(TarefaResponseDTO::id))
+                .toList();
+    }
+
+    @Override
+    public Optional<TarefaResponseDTO> buscarPorId(Long id) {
+        return Optional.ofNullable(tarefas.get(id)).map(Entrada::tarefa);
+    }
+
+    @Override
+    public List<TarefaResponseDTO> buscarPorTitulo(String titulo) {
+        String termo = titulo.toLowerCase(Locale.ROOT);
+        Set<Long> candidatos = indiceTitulos.candidatos(termo);
+        Stream<Entrada> entradas = candidatos == null
+                ? tarefas.values().stream() // Termo com menos de 3 caracteres: sem trigrama para consultar
+                : candidatos.stream().map(tarefas::get).filter(Objects::nonNull);
+        return entradas
+                .filter(entrada -> entrada.tituloNormalizado().contains(termo))
+                .map(Entrada::tarefa)
+                .sorted(Comparator.comparing(TarefaResponseDTO::id))
+                .toList();
+    }
+
+    @Override
+    public TarefaResponseDTO criar(String titulo, String descricao, boolean concluida) {
+        LocalDateTime agora = LocalDateTime.now();
+        RegistroWal registro;
+        synchronized (lockEscrita) {
+            TarefaResponseDTO nova = new TarefaResponseDTO(++ultimoId, titulo, descricao, concluida, agora, agora);
+            registro = registrar(RegistroWal.Operacao.SALVAR, nova.id(), nova);
+        }
+        confirmar(registro.seq());
+        return registro.tarefa();
+    }
+
+    @Override
+    public Optional<TarefaResponseDTO> atualizar(Long id, TarefaRequestDTO dto) {
+        RegistroWal registro;
+        synchronized (lockEscrita) {
+            Entrada existente = tarefas.get(id);
+            if (existente == null) {
+                return Optional.empty();
+            }
+            TarefaResponseDTO atual = existente.tarefa();
+            // Atualiza apenas os campos fornecidos
+            TarefaResponseDTO atualizada = new TarefaResponseDTO(
+                    id,
+                    dto.titulo() != null && !dto.titulo().isBlank() ? dto.titulo() : atual.titulo(),
+                    dto.descricao() != null ? dto.descricao() : atual.descricao(),
+                    dto.concluida() != null ? dto.concluida() : atual.concluida(),
+                    atual.dataCriacao(),
+                    LocalDateTime.now());
+            registro = registrar(RegistroWal.Operacao.SALVAR, id, atualizada);
+        }
+        confirmar(registro.seq());
+        return Optional.of(registro.tarefa());
+    }
+
+    @Override
+    public boolean deletar(Long id) {
+        RegistroWal registro;
+        synchronized (lockEscrita) {
+            if (!tarefas.containsKey(id)) {
+                return false;
+            }
+            registro = registrar(RegistroWal.Operacao.REMOVER, id, null);
+        }
+        confirmar(registro.seq());
+        return true;
+    }
+
+    // Chamado com lockEscrita adquirido
+    private RegistroWal registrar(RegistroWal.Operacao operacao, Long id, TarefaResponseDTO tarefa) {
+        try {
+            RegistroWal registro = wal.anexar(operacao, id, tarefa);
+            aplicar(registro);
+            return registro;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar no WAL", e);
+        }
+    }
+
+    // Chamado com lockEscrita adquirido
+    private void aplicar(RegistroWal registro) {
+        if (registro.operacao() == RegistroWal.Operacao.SALVAR) {
+            colocar(new Entrada(registro.tarefa()));
+        } else {
+            Entrada removida = tarefas.remove(registro.id());
+            if (removida != null) {
+                indiceTitulos.atualizar(registro.id(), removida.tituloNormalizado(), null);
+            }
+        }
+        pendentes.put(registro.id(), registro); // Sobrescreve estados intermediários da mesma tarefa
+    }
+
+    // Chamado com lockEscrita adquirido
+    private void colocar(Entrada entrada) {
+        Long id = entrada.tarefa().id();
+        Entrada anterior = tarefas.get(id);
+        indiceTitulos.atualizar(id, anterior == null ? null : anterior.tituloNormalizado(), entrada.tituloNormalizado());
+        tarefas.put(id, entrada);
+    }
+
+    private void confirmar(long seq) {
+        try {
+            if (modoConfirmacao == ModoConfirmacao.WAL) {
+                wal.sincronizar(seq);
+                return;
+            }
+            CompletableFuture<Void> gravado = aguardandoBanco.computeIfAbsent(seq, s -> new CompletableFuture<>());
+            if (seqGravada >= seq) {
+                gravado.complete(null); // O gravador terminou antes do registro da espera
+            }
+            gravador.execute(this::gravarPendentes); // Não espera o próximo ciclo
+            gravado.get(TIMEOUT_CONFIRMACAO_SEGUNDOS, TimeUnit.SECONDS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao sincronizar o WAL", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a gravação no banco", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("A gravação no banco não foi confirmada", e);
+        }
+    }
+
+    // Executado apenas na thread do gravador (e no encerramento)
+    void gravarPendentes() {
+        Map<Long, RegistroWal> lote;
+        long seqLote;
+        synchronized (lockEscrita) {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+            lote = pendentes;
+            pendentes = new HashMap<>();
+            seqLote = wal.ultimaSeq();
+        }
+
+        List<RegistroWal> registros = new ArrayList<>(lote.values());
+        try {
+            for (int inicio = 0; inicio < registros.size(); inicio += tamanhoLote) {
+                List<RegistroWal> parte = registros.subList(inicio, Math.min(inicio + tamanhoLote, registros.size()));
+                transacao.executeWithoutResult(status -> parte.forEach(this::gravarNoBanco));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar {} tarefa(s) no banco; nova tentativa no próximo ciclo", registros.size(), e);
+            synchronized (lockEscrita) {
+                lote.forEach(pendentes::putIfAbsent); // Mantém estados mais novos, se houver
+            }
+            return;
+        }
+
+        seqGravada = seqLote;
+        ConcurrentNavigableMap<Long, CompletableFuture<Void>> confirmados = aguardandoBanco.headMap(seqLote, true);
+        confirmados.values().forEach(gravado -> gravado.complete(null));
+        confirmados.clear();
+
+        try {
+            wal.descartarAte(seqLote);
+        } catch (IOException e) {
+            log.warn("Não foi possível descartar o início do WAL", e); // Será reaplicado (idempotente) no próximo início
+        }
+    }
+
+    private void gravarNoBanco(RegistroWal registro) {
+        if (registro.operacao() == RegistroWal.Operacao.REMOVER) {
+            repository.removerPorId(registro.id());
+            return;
+        }
+        TarefaResponseDTO t = registro.tarefa();
+        int atualizadas = repository.atualizarEstado(t.id(), t.titulo(), t.descricao(), t.concluida(), t.dataAtualizacao());
+        if (atualizadas == 0) {
+            repository.inserirComId(t.id(), t.titulo(), t.descricao(), t.concluida(), t.dataCriacao(), t.dataAtualizacao());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.liston.api.store;
+
+// Quando uma escrita no modo 'memoria' é confirmada ao cliente (liston.store.ack)
+public enum ModoConfirmacao {
+    WAL,   // Após o fsync do write-ahead log (menor latência)
+    BANCO  // Após o commit no banco pelo gravador em segundo plano
+}
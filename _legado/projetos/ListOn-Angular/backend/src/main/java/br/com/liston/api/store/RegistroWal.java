@@ -0,0 +1,17 @@
+package br.com.liston.api.store;
+
+import br.com.liston.api.dto.TarefaResponseDTO;
+
+// Uma linha do write-ahead log. SALVAR carrega o estado completo da tarefa,
+// então reaplicar o mesmo registro mais de uma vez é seguro (idempotente).
+public record RegistroWal(
+        long seq,
+        Operacao operacao,
+        Long id,
+        TarefaResponseDTO tarefa
+) {
+    public enum Operacao {
+        SALVAR,
+        REMOVER
+    }
+}
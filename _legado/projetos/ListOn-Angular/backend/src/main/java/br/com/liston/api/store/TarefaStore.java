@@ -0,0 +1,27 @@
+package br.com.liston.api.store;
+
+import br.com.liston.api.dto.TarefaRequestDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+// Motor de armazenamento usado pelo TarefaService.
+// Escolhido pela propriedade 'liston.store.modo': 'jpa' (padrão) ou 'memoria'.
+public interface TarefaStore {
+
+    List<TarefaResponseDTO> listarTodas();
+
+    Optional<TarefaResponseDTO> buscarPorId(Long id);
+
+    // Título contendo o termo, sem diferenciar maiúsculas, em ordem de id
+    List<TarefaResponseDTO> buscarPorTitulo(String titulo);
+
+    TarefaResponseDTO criar(String titulo, String descricao, boolean concluida);
+
+    // Atualiza apenas os campos fornecidos; vazio se a tarefa não existir
+    Optional<TarefaResponseDTO> atualizar(Long id, TarefaRequestDTO dto);
+
+    // Retorna false se a tarefa não existir
+    boolean deletar(Long id);
+}
@@ -0,0 +1,158 @@
+package br.com.liston.api.store;
+
+import br.com.liston.api.dto.TarefaResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Write-ahead log do modo 'memoria': um RegistroWal em JSON por linha, somente anexado.
+// A cada lote gravado no banco, os registros até ele são descartados do início do log.
+public class TarefaWal implements Closeable {
+
+    private final Path arquivo;
+    private FileChannel canal; // Trocado por descartarAte(), com os dois locks adquiridos
+    private final TreeMap<Long, Long> fimPorSeq = new TreeMap<>(); // Posição logo após cada registro no log
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final Object lockSincronizacao = new Object();
+    private long ultimaSeq;
+    private volatile long seqSincronizada;
+
+    public TarefaWal(Path arquivo) throws IOException {
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        if (pasta != null) {
+            Files.createDirectories(pasta);
+        }
+        this.arquivo = arquivo;
+        this.canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // Lê os registros deixados por uma execução anterior (recuperação após queda).
+    // Uma última linha incompleta (escrita interrompida) é descartada.
+    public synchronized List<RegistroWal> ler() throws IOException {
+        ByteBuffer conteudo = ByteBuffer.allocate((int) canal.size());
+        canal.read(conteudo, 0);
+        byte[] bytes = conteudo.array();
+
+        List<RegistroWal> registros = new ArrayList<>();
+        fimPorSeq.clear();
+        int inicio = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            try {
+                RegistroWal registro = mapper.readValue(bytes, inicio, i - inicio, RegistroWal.class);
+                registros.add(registro);
+                ultimaSeq = Math.max(ultimaSeq, registro.seq());
+                fimPorSeq.put(registro.seq(), (long) i + 1);
+            } catch (IOException e) {
+                break; // Registro corrompido: tudo a partir dele é descartado
+            }
+            inicio = i + 1;
+        }
+
+        canal.truncate(inicio);
+        canal.position(inicio);
+        seqSincronizada = ultimaSeq;
+        return registros;
+    }
+
+    // Anexa o registro sem fsync; chame sincronizar(seq) para torná-lo durável
+    public synchronized RegistroWal anexar(RegistroWal.Operacao operacao, Long id, TarefaResponseDTO tarefa)
+            throws IOException {
+        RegistroWal registro = new RegistroWal(++ultimaSeq, operacao, id, tarefa);
+        byte[] linha = mapper.writeValueAsBytes(registro);
+        ByteBuffer buffer = ByteBuffer.allocate(linha.length + 1).put(linha).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        fimPorSeq.put(registro.seq(), canal.position());
+        return registro;
+    }
+
+    // Group commit: um único fsync torna duráveis todos os registros anexados até o momento,
+    // então escritas concorrentes compartilham o mesmo fsync.
+    public void sincronizar(long seq) throws IOException {
+        if (seqSincronizada >= seq) {
+            return;
+        }
+        synchronized (lockSincronizacao) {
+            if (seqSincronizada >= seq) {
+                return;
+            }
+            long alvo = ultimaSeq();
+            canal.force(false);
+            seqSincronizada = alvo;
+        }
+    }
+
+    public synchronized long ultimaSeq() {
+        return ultimaSeq;
+    }
+
+    // Descarta os registros até 'seqGravada' (já estão no banco). Se algo foi anexado depois, os
+    // registros seguintes são copiados para um arquivo novo, sincronizado e movido por cima do log:
+    // uma queda no meio deixa o log anterior inteiro, que é reaplicado (idempotente) no próximo início.
+    public void descartarAte(long seqGravada) throws IOException {
+        synchronized (lockSincronizacao) {
+            synchronized (this) {
+                Map.Entry<Long, Long> ultimoGravado = fimPorSeq.floorEntry(seqGravada);
+                if (ultimoGravado == null) {
+                    return; // Já descartados
+                }
+                long inicio = ultimoGravado.getValue();
+                long tamanho = canal.size();
+                fimPorSeq.headMap(seqGravada, true).clear();
+                if (inicio == tamanho) {
+                    canal.truncate(0);
+                    canal.position(0);
+                    canal.force(false);
+                    return;
+                }
+
+                Path novo = arquivo.resolveSibling(arquivo.getFileName() + ".novo");
+                try (FileChannel copia = FileChannel.open(novo,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    for (long copiado = 0; copiado < tamanho - inicio; ) {
+                        copiado += canal.transferTo(inicio + copiado, tamanho - inicio - copiado, copia);
+                    }
+                    copia.force(false);
+                }
+                Files.move(novo, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                canal.close();
+                canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                canal.position(canal.size());
+                fimPorSeq.replaceAll((seq, fim) -> fim - inicio);
+                seqSincronizada = ultimaSeq; // A cópia já foi sincronizada
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lockSincronizacao) {
+            synchronized (this) {
+                canal.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.liston.api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteRequisicoesFilterTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final LimiteRequisicoesFilter filtro = new LimiteRequisicoesFilter(3, 1, relogio::get);
+
+    @Test
+    void acimaDoLimite_Retorna429ComRetryAfter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, enviar("10.0.0.1").getStatus());
+        }
+        MockHttpServletResponse recusada = enviar("10.0.0.1");
+        assertEquals(429, recusada.getStatus());
+        assertEquals("1", recusada.getHeader("Retry-After"));
+
+        // Outro cliente tem o próprio balde
+        assertEquals(200, enviar("10.0.0.2").getStatus());
+
+        // Uma ficha volta após um segundo
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(200, enviar("10.0.0.1").getStatus());
+        assertEquals(429, enviar("10.0.0.1").getStatus());
+    }
+
+    @Test
+    void baldesOciosos_SaoRemovidos() throws Exception {
+        enviar("10.0.0.1");
+        enviar("10.0.0.2");
+        assertEquals(2, filtro.totalBaldes());
+
+        relogio.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        enviar("10.0.0.3");
+        assertEquals(1, filtro.totalBaldes());
+    }
+
+    private MockHttpServletResponse enviar(String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tarefas");
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.liston.api.service;
+
+import br.com.liston.api.dto.TarefaRequestDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TarefaServiceCacheTest {
+
+    @Autowired
+    private TarefaService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void buscarPorId_Repetido_NaoExecutaSqlMesmoComEscritasEmOutraTarefa() {
+        Long id = service.criar(new TarefaRequestDTO("Tarefa em cache", null, false)).id();
+        Long outra = service.criar(new TarefaRequestDTO("Outra tarefa", null, false)).id();
+        service.buscarPorId(id); // Aquece o cache, caso o insert não o tenha feito
+
+        // Escrever outra tarefa limpa o cache de consultas, mas não a entrada desta tarefa na região de entidades
+        service.atualizar(outra, new TarefaRequestDTO(null, null, true));
+        estatisticas.clear();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Tarefa em cache", service.buscarPorId(id).titulo());
+        }
+
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertEquals(3, estatisticas.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void listarTodas_UsaQueryCacheEInvalidaAoAtualizar() {
+        Long id = service.criar(new TarefaRequestDTO("Tarefa listada", null, false)).id();
+        service.listarTodas();
+
+        estatisticas.clear();
+        service.listarTodas();
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getQueryCacheHitCount());
+
+        service.atualizar(id, new TarefaRequestDTO(null, null, true));
+        TarefaResponseDTO atualizada = service.listarTodas().stream()
+                .filter(tarefa -> tarefa.id().equals(id))
+                .findFirst().orElseThrow();
+        assertTrue(atualizada.concluida());
+    }
+
+    @Test
+    void actuator_ExpoeEstatisticasDoCacheSoComLogin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests")
+                        .param("tag", "region:tarefas")
+                        .with(user("metricas")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[?(@.tag == 'result')]").exists());
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.liston.api.store;
+
+import br.com.liston.api.dto.TarefaRequestDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import br.com.liston.api.repository.TarefaRepository;
+import br.com.liston.api.service.TarefaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Simula uma queda: o WAL tem escritas confirmadas que nunca chegaram ao banco.
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemoriaTarefaStoreTest {
+
+    @DynamicPropertySource
+    static void configurar(DynamicPropertyRegistry registry) throws IOException {
+        Path arquivo = Files.createTempDirectory("liston-wal").resolve("tarefas.wal");
+        try (TarefaWal wal = new TarefaWal(arquivo)) {
+            wal.ler();
+            wal.anexar(RegistroWal.Operacao.SALVAR, 10L, tarefa(10L, "Recuperada"));
+            wal.anexar(RegistroWal.Operacao.SALVAR, 11L, tarefa(11L, "Removida depois"));
+            wal.anexar(RegistroWal.Operacao.REMOVER, 11L, null);
+            wal.sincronizar(wal.ultimaSeq());
+        }
+        registry.add("liston.store.modo", () -> "memoria");
+        registry.add("liston.store.ack", () -> "banco");
+        registry.add("liston.store.wal", arquivo::toString);
+    }
+
+    @Autowired
+    private TarefaService service;
+
+    @Autowired
+    private TarefaRepository repository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void iniciar_ReaplicaOWalNaMemoriaENoBanco() {
+        assertEquals("Recuperada", service.buscarPorId(10L).titulo());
+        assertTrue(service.listarTodas().stream().noneMatch(t -> t.id() == 11L));
+
+        // Com ack=banco, a confirmação de qualquer escrita implica que o lote recuperado também foi gravado
+        TarefaResponseDTO nova = service.criar(new TarefaRequestDTO("Nova", null, null));
+
+        assertTrue(nova.id() > 11L); // Ids continuam depois dos recuperados
+        assertTrue(repository.existsById(10L));
+        assertFalse(repository.existsById(11L));
+        assertTrue(repository.existsById(nova.id()));
+    }
+
+    @Test
+    void atualizar_AlteraMemoriaEBanco() {
+        TarefaResponseDTO criada = service.criar(new TarefaRequestDTO("Alternar", null, null));
+
+        service.atualizar(criada.id(), new TarefaRequestDTO(null, null, true));
+
+        assertTrue(service.buscarPorId(criada.id()).concluida());
+        assertTrue(repository.findById(criada.id()).orElseThrow().isConcluida());
+    }
+
+    @Test
+    void buscarPorTitulo_AcompanhaCriacaoRenomeacaoEExclusao() throws Exception {
+        TarefaResponseDTO criada = service.criar(new TarefaRequestDTO("Comprar Pão na padaria", null, null));
+        TarefaResponseDTO outra = service.criar(new TarefaRequestDTO("Pagar a padaria", null, null));
+
+        assertEquals(List.of(criada.id()), ids(service.buscarPorTitulo("comprar pão")));
+        assertEquals(List.of(criada.id(), outra.id()), ids(service.buscarPorTitulo("PADARIA")));
+        assertTrue(ids(service.buscarPorTitulo("pa")).containsAll(List.of(criada.id(), outra.id()))); // Sem trigrama
+
+        service.atualizar(criada.id(), new TarefaRequestDTO("Comprar leite", null, null));
+        assertEquals(List.of(outra.id()), ids(service.buscarPorTitulo("padaria")));
+        assertEquals(List.of(criada.id()), ids(service.buscarPorTitulo("leite")));
+
+        mockMvc.perform(get("/api/tarefas").param("titulo", "LEITE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(criada.id()));
+
+        service.deletar(outra.id());
+        assertTrue(service.buscarPorTitulo("padaria").isEmpty());
+    }
+
+    private static List<Long> ids(List<TarefaResponseDTO> tarefas) {
+        return tarefas.stream().map(TarefaResponseDTO::id).toList();
+    }
+
+    private static TarefaResponseDTO tarefa(Long id, String titulo) {
+        LocalDateTime agora = LocalDateTime.now();
+        return new TarefaResponseDTO(id, titulo, null, false, agora, agora);
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.liston.api.store;
+
+import br.com.liston.api.dto.TarefaResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TarefaWalTest {
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void ler_ReaplicaRegistrosDeUmaExecucaoAnterior() throws Exception {
+        Path arquivo = pasta.resolve("tarefas.wal");
+        try (TarefaWal wal = new TarefaWal(arquivo)) {
+            wal.ler();
+            wal.anexar(RegistroWal.Operacao.SALVAR, 1L, tarefa(1L, "Primeira"));
+            wal.anexar(RegistroWal.Operacao.SALVAR, 2L, tarefa(2L, "Segunda"));
+            RegistroWal ultimo = wal.anexar(RegistroWal.Operacao.REMOVER, 1L, null);
+            wal.sincronizar(ultimo.seq());
+        } // "Queda": nada foi gravado no banco
+
+        try (TarefaWal wal = new TarefaWal(arquivo)) {
+            List<RegistroWal> registros = wal.ler();
+
+            assertEquals(3, registros.size());
+            assertEquals("Primeira", registros.get(0).tarefa().titulo());
+            assertEquals(RegistroWal.Operacao.REMOVER, registros.get(2).operacao());
+            assertEquals(3, wal.ultimaSeq());
+            assertEquals(4, wal.anexar(RegistroWal.Operacao.REMOVER, 2L, null).seq());
+        }
+    }
+
+    @Test
+    void ler_DescartaUltimaLinhaIncompleta() throws Exception {
+        Path arquivo = pasta.resolve("tarefas.wal");
+        try (TarefaWal wal = new TarefaWal(arquivo)) {
+            wal.ler();
+            wal.anexar(RegistroWal.Operacao.SALVAR, 1L, tarefa(1L, "Completa"));
+        }
+        // Simula uma escrita interrompida no meio do registro
+        Files.writeString(arquivo, "{\"seq\":2,\"operacao\":\"SAL", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (TarefaWal wal = new TarefaWal(arquivo)) {
+            List<RegistroWal> registros = wal.ler();
+
+            assertEquals(1, registros.size());
+            assertEquals("Completa", registros.get(0).tarefa().titulo());
+            wal.anexar(RegistroWal.Operacao.REMOVER, 1L, null);
+        }
+        try (TarefaWal wal = new TarefaWal(arquivo)) {
+            assertEquals(2, wal.ler().size()); // O lixo foi removido antes do novo registro
+        }
+    }
+
+    @Test
+    void descartarAte_EsvaziaQuandoTudoFoiGravado() throws Exception {
+        Path arquivo = pasta.resolve("tarefas.wal");
+        try (TarefaWal wal = new TarefaWal(arquivo)) {
+            wal.ler();
+            wal.anexar(RegistroWal.Operacao.SALVAR, 1L, tarefa(1L, "A"));
+            wal.anexar(RegistroWal.Operacao.SALVAR, 2L, tarefa(2L, "B"));
+
+            wal.descartarAte(wal.ultimaSeq());
+            assertEquals(0, Files.size(arquivo));
+        }
+    }
+
+    @Test
+    void descartarAte_EscritasContinuasNaoFazemOLogCrescer() throws Exception {
+        Path arquivo = pasta.resolve("tarefas.wal");
+        long tamanhoMaximo = 0;
+        try (TarefaWal wal = new TarefaWal(arquivo)) {
+            wal.ler();
+            wal.anexar(RegistroWal.Operacao.SALVAR, 1L, tarefa(1L, "Tarefa 1"));
+            for (long id = 2; id <= 200; id++) {
+                long seqLote = wal.ultimaSeq(); // O gravador levou ao banco tudo até aqui...
+                wal.anexar(RegistroWal.Operacao.SALVAR, id, tarefa(id, "Tarefa " + id)); // ...enquanto chegava mais
+
+                wal.descartarAte(seqLote);
+                tamanhoMaximo = Math.max(tamanhoMaximo, Files.size(arquivo));
+            }
+            RegistroWal ultimo = wal.anexar(RegistroWal.Operacao.REMOVER, 200L, null);
+            wal.sincronizar(ultimo.seq());
+        }
+
+        try (TarefaWal wal = new TarefaWal(arquivo)) {
+            List<RegistroWal> registros = wal.ler();
+
+            // Só o que não foi gravado no banco: o último SALVAR e o REMOVER que veio depois
+            assertEquals(List.of(200L, 201L), registros.stream().map(RegistroWal::seq).toList());
+            assertEquals("Tarefa 200", registros.get(0).tarefa().titulo());
+            assertEquals(201, wal.ultimaSeq());
+        }
+        assertTrue(tamanhoMaximo < 1024, "WAL chegou a " + tamanhoMaximo + " bytes");
+    }
+
+    private static TarefaResponseDTO tarefa(Long id, String titulo) {
+        LocalDateTime agora = LocalDateTime.now();
+        return new TarefaResponseDTO(id, titulo, null, false, agora, agora);
+    }
+}
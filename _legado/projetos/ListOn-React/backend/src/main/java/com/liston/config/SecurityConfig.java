@@ -1,19 +1,31 @@
 package com.liston.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
 import static org.springframework.boot.autoconfigure.security.servlet.PathRequest.toH2Console;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Chave HMAC compartilhada com quem emite os tokens (DevTokenController no perfil 'dev')
+    @Value("${liston.jwt.secret}")
+    private String jwtSecret;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -34,8 +46,10 @@ public class SecurityConfig {
                 .requestMatchers(toH2Console()).permitAll()
                 // Permite acesso ao Swagger
                 .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
-                // Permite acesso à nossa API de tarefas (sem autenticação por enquanto)
-                .requestMatchers("/api/tasks/**").permitAll()
+                // Emissão de tokens de desenvolvimento (só existe no perfil 'dev')
+                .requestMatchers("/api/auth/**").permitAll()
+                // A API de tarefas exige um JWT; o 'sub' identifica o dono das tarefas
+                .requestMatchers("/api/tasks/**").authenticated()
                 // Qualquer outra requisição precisa de autenticação
                 .anyRequest().authenticated()
             )
@@ -45,8 +59,21 @@ public class SecurityConfig {
                 .addHeaderWriter(new XFrameOptionsHeaderWriter(
                     XFrameOptionsHeaderWriter.XFrameOptionsMode.SAMEORIGIN
                 ))
-            );
+            )
+
+            // Autenticação por Bearer JWT
+            .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()));
 
         return http.build();
     }
+
+    @Bean
+    public SecretKey jwtKey() {
+        return new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey jwtKey) {
+        return NimbusJwtDecoder.withSecretKey(jwtKey).build(); // Também valida o 'exp'
+    }
 }
\ No newline at end of file
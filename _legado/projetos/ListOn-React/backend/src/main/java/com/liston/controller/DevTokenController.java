@@ -0,0 +1,47 @@
+package com.liston.controller;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+@RestController
+@Profile("dev") // Apenas desenvolvimento: emite um token para qualquer usuário, sem senha
+@RequestMapping("/api/auth")
+public class DevTokenController {
+
+    private static final Duration VALIDITY = Duration.ofHours(12);
+
+    private final JwtEncoder encoder;
+
+    public DevTokenController(SecretKey jwtKey) {
+        this.encoder = new NimbusJwtEncoder(new ImmutableSecret<>(jwtKey));
+    }
+
+    @PostMapping("/token")
+    public ResponseEntity<Map<String, String>> issueToken(@RequestParam String username) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(username)
+                .issuedAt(now)
+                .expiresAt(now.plus(VALIDITY))
+                .build();
+        String token = encoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+        return ResponseEntity.ok(Map.of("token", token));
+    }
+}
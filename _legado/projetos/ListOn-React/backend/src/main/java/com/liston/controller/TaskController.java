@@ -5,6 +5,7 @@ import com.liston.repository.TaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,37 +14,44 @@ import java.util.List;
 @RequestMapping("/api/tasks") // Define o prefixo para todos os endpoints
 public class TaskController {
 
+    // 'owner' é o 'sub' do JWT de quem chama: cada endpoint só enxerga as tarefas desse dono.
+    // A tarefa de outro dono é tratada como inexistente (404), sem revelar que existe.
+
     @Autowired
     private TaskRepository taskRepository;
 
     // 1. CREATE
     @PostMapping
-    public ResponseEntity<Task> createTask(@RequestBody Task task) {
+    public ResponseEntity<Task> createTask(@AuthenticationPrincipal(expression = "subject") String owner,
+                                           @RequestBody Task task) {
         // Remove o ID para garantir que é uma criação
         task.setId(null);
+        task.setOwner(owner);
         Task newTask = taskRepository.save(task);
         return new ResponseEntity<>(newTask, HttpStatus.CREATED);
     }
 
     // 2. READ (All)
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        List<Task> tasks = taskRepository.findAll();
+    public ResponseEntity<List<Task>> getAllTasks(@AuthenticationPrincipal(expression = "subject") String owner) {
+        List<Task> tasks = taskRepository.findByOwnerOrderByCompletedAscCreatedAtAsc(owner);
         return ResponseEntity.ok(tasks);
     }
 
     // 3. READ (By ID)
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
-        return taskRepository.findById(id)
+    public ResponseEntity<Task> getTaskById(@AuthenticationPrincipal(expression = "subject") String owner,
+                                            @PathVariable Long id) {
+        return taskRepository.findByIdAndOwner(id, owner)
                 .map(ResponseEntity::ok) // Se achar, retorna 200 OK
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND)); // Se não, retorna 404
     }
 
     // 4. UPDATE
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task taskDetails) {
-        return taskRepository.findById(id)
+    public ResponseEntity<Task> updateTask(@AuthenticationPrincipal(expression = "subject") String owner,
+                                           @PathVariable Long id, @RequestBody Task taskDetails) {
+        return taskRepository.findByIdAndOwner(id, owner)
                 .map(existingTask -> {
                     existingTask.setTitle(taskDetails.getTitle());
                     existingTask.setDescription(taskDetails.getDescription());
@@ -56,12 +64,13 @@ public class TaskController {
 
     // 5. DELETE
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        if (taskRepository.existsById(id)) {
-            taskRepository.deleteById(id);
-            return ResponseEntity.noContent().build(); // Retorna 204 No Content
-        } else {
-            return ResponseEntity.notFound().build(); // Retorna 404 Not Found
-        }
+    public ResponseEntity<Void> deleteTask(@AuthenticationPrincipal(expression = "subject") String owner,
+                                           @PathVariable Long id) {
+        return taskRepository.findByIdAndOwner(id, owner)
+                .map(task -> {
+                    taskRepository.delete(task);
+                    return ResponseEntity.noContent().<Void>build(); // Retorna 204 No Content
+                })
+                .orElse(ResponseEntity.notFound().build()); // Retorna 404 Not Found
     }
 }
@@ -1,9 +1,12 @@
 package com.liston.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,13 +18,19 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "tasks")
+// O índice atende as consultas por dono (lista, pendentes/concluídas, por data de criação)
+@Table(name = "tasks", indexes = @Index(name = "idx_tasks_owner_completed_created", columnList = "owner_id, completed, created_at"))
 public class Task {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Dono da tarefa: o 'sub' do JWT de quem a criou (nunca vem do corpo da requisição)
+    @JsonIgnore
+    @Column(name = "owner_id", nullable = false, updatable = false, length = 100)
+    private String owner;
+
     private String title;
 
     private String description;
@@ -29,4 +38,4 @@ public class Task {
     private boolean completed = false;
 
     private LocalDateTime createdAt = LocalDateTime.now();
-}
\ No newline at end of file
+}
@@ -4,8 +4,17 @@ import com.liston.model.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     // Nossos métodos CRUD básicos (save, findById, findAll, deleteById)
     // já estão incluídos aqui pelo JpaRepository.
-}
\ No newline at end of file
+
+    // Consultas filtradas pelo dono, atendidas pelo índice (owner_id, completed, created_at):
+    // pendentes primeiro, depois as concluídas, cada grupo por data de criação
+    List<Task> findByOwnerOrderByCompletedAscCreatedAtAsc(String owner);
+
+    Optional<Task> findByIdAndOwner(Long id, String owner);
+}
@@ -0,0 +1,67 @@
+package com.liston.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void withoutToken_Returns401() throws Exception {
+        mockMvc.perform(get("/api/tasks")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void tasks_AreOnlyVisibleToTheirOwner() throws Exception {
+        String alice = token("alice");
+        String bob = token("bob");
+
+        // O 'owner' enviado no corpo é ignorado: vale o do token
+        String created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + alice)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Alice's task\", \"owner\": \"bob\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.owner").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        int id = objectMapper.readTree(created).get("id").asInt();
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + alice))
+                .andExpect(jsonPath("$[*].id", hasItem(id)));
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + bob))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(id))));
+
+        mockMvc.perform(get("/api/tasks/" + id).header("Authorization", "Bearer " + bob))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/tasks/" + id).header("Authorization", "Bearer " + bob))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/tasks/" + id).header("Authorization", "Bearer " + alice))
+                .andExpect(status().isNoContent());
+    }
+
+    private String token(String username) throws Exception {
+        String response = mockMvc.perform(post("/api/auth/token").param("username", username))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+}
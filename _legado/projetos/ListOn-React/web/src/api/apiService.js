@@ -1,8 +1,64 @@
 import axios from 'axios';
 
+const API_URL = 'http://localhost:8080/api';
+const TOKEN_KEY = 'liston.token';
+// A identidade vem da configuração (veja .env.example), nunca de um usuário fixo no código:
+// - VITE_LISTON_TOKEN: token (JWT) emitido para o usuário pelo provedor de identidade;
+// - VITE_LISTON_DEV_USER: apenas desenvolvimento, pede um token ao backend (perfil 'dev') em POST /api/auth/token.
+const TOKEN_CONFIGURADO = import.meta.env.VITE_LISTON_TOKEN;
+const DEV_USER = import.meta.env.VITE_LISTON_DEV_USER;
+
+export class SemTokenError extends Error {
+    constructor() {
+        super('Sem token para a API: entre com um usuário ou defina VITE_LISTON_TOKEN '
+            + '(ou VITE_LISTON_DEV_USER com o backend no perfil dev).');
+        this.name = 'SemTokenError';
+    }
+}
+
 // Cria uma instância do Axios com a URL base da nossa API
 const api = axios.create({
-    baseURL: 'http://localhost:8080/api',
+    baseURL: API_URL,
+});
+
+// Guarda o token obtido numa etapa de login; null sai
+export const setToken = (token) => {
+    if (token) {
+        localStorage.setItem(TOKEN_KEY, token);
+    } else {
+        localStorage.removeItem(TOKEN_KEY);
+    }
+};
+
+// Token do login, depois o configurado, depois um de desenvolvimento; falha se não houver nenhum
+const getToken = async () => {
+    const salvo = localStorage.getItem(TOKEN_KEY);
+    if (salvo) return salvo;
+    if (TOKEN_CONFIGURADO) return TOKEN_CONFIGURADO;
+    if (!DEV_USER) throw new SemTokenError();
+
+    const response = await axios.post(`${API_URL}/auth/token`, null, { params: { username: DEV_USER } });
+    setToken(response.data.token);
+    return response.data.token;
+};
+
+// Envia o JWT em todas as requisições; o backend só devolve as tarefas do dono
+api.interceptors.request.use(async (config) => {
+    config.headers.Authorization = `Bearer ${await getToken()}`;
+    return config;
+});
+
+// Token expirado ou rejeitado: descarta; só um token de desenvolvimento pode ser pedido de novo, então só aí tenta mais uma vez
+api.interceptors.response.use(undefined, async (error) => {
+    const config = error.config;
+    if (error.response?.status === 401) {
+        setToken(null);
+        if (DEV_USER && config && !config._retried) {
+            config._retried = true;
+            return api(config);
+        }
+    }
+    return Promise.reject(error);
 });
 
 // Funções de CRUD para Tarefas
@@ -11,4 +67,4 @@ export const createTask = (task) => api.post('/tasks', task);
 export const updateTask = (id, task) => api.put(`/tasks/${id}`, task);
 export const deleteTask = (id) => api.delete(`/tasks/${id}`);
 
-export default api;
\ No newline at end of file
+export default api;
@@ -3,9 +3,27 @@ const app = express();
 const PORT = 3000;
 const SERVER_ID = "API-01"; // <-- Note o ID
 
+// Uma requisição registrada no log a cada LOG_AMOSTRAGEM (1 = todas, 0 = nenhuma).
+// A contagem completa fica em /metricas (formato Prometheus), não em uma linha de log por requisição.
+const LOG_AMOSTRAGEM = Number(process.env.LOG_AMOSTRAGEM ?? 1000);
+let requisicoes = 0;
+
 app.get('/', (req, res) => {
-  console.log(`[${SERVER_ID}] Recebeu requisição`);
+  requisicoes++;
+  if (LOG_AMOSTRAGEM > 0 && Math.random() * LOG_AMOSTRAGEM < 1) {
+    console.log(JSON.stringify({ message: 'Recebeu requisição', servidor: SERVER_ID, requisicoes, amostragem: LOG_AMOSTRAGEM }));
+  }
   res.json({ servidor: SERVER_ID, timestamp: new Date().toISOString() });
 });
 
-app.listen(PORT, () => console.log(`[${SERVER_ID}] Rodando na porta ${PORT}`));
\ No newline at end of file
+// Contador só desta instância: colete as duas APIs separadamente, nunca por /api (o balanceamento
+// entregaria o contador de uma delas ao acaso). Na rede do compose: http://api-01:3000/metricas e
+// http://api-02:3000/metricas; do host, pelo Nginx: /metricas/api-01 e /metricas/api-02
+app.get('/metricas', (req, res) => {
+  res.type('text/plain').send(
+    '# HELP api_requisicoes_total Requisições recebidas em GET /\n' +
+    '# TYPE api_requisicoes_total counter\n' +
+    `api_requisicoes_total{servidor="${SERVER_ID}"} ${requisicoes}\n`);
+});
+
+app.listen(PORT, () => console.log(`[${SERVER_ID}] Rodando na porta ${PORT}`));
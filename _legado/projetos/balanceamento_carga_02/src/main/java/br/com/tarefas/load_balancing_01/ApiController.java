@@ -1,12 +1,16 @@
 package br.com.tarefas.load_balancing_01;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import java.util.Map;
 import java.util.Date;
 
+// Versão servlet (Tomcat), a padrão; no perfil 'reativo' quem responde é o ApiRotasReativas
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ApiController {
 
     // Injeta o valor da variável de ambiente 'SERVER_ID'
@@ -14,10 +18,13 @@ public class ApiController {
     @Value("${SERVER_ID:API-DEFAULT}")
     private String serverId;
 
+    @Autowired
+    private RegistroRequisicoes registroRequisicoes;
+
     @GetMapping("/api")
     public Map<String, Object> getApiData() {
-        // Imprime no log do contêiner qual servidor respondeu
-        System.out.println("[" + serverId + "] Recebeu requisição");
+        // Conta a requisição; só uma amostra vai para o log do contêiner
+        registroRequisicoes.registrar();
 
         // Retorna o JSON para o dashboard
         return Map.of(
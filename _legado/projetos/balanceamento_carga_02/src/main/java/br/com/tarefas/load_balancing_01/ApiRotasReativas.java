@@ -0,0 +1,34 @@
+package br.com.tarefas.load_balancing_01;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+// GET /api no modo reativo (perfil 'reativo': Netty em vez de Tomcat).
+// Responde direto da thread do event loop com o corpo já serializado do RespostaApi;
+// a contagem e o log amostrado ficam com o RegistroRequisicoes, sem esperar a escrita no console.
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ApiRotasReativas {
+
+    @Autowired
+    private RespostaApi respostaApi;
+
+    @Autowired
+    private RegistroRequisicoes registroRequisicoes;
+
+    @Bean
+    public RouterFunction<ServerResponse> rotasApi() {
+        return RouterFunctions.route()
+                .GET("/api", request -> {
+                    registroRequisicoes.registrar();
+                    return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(respostaApi.json());
+                })
+                .build();
+    }
+}
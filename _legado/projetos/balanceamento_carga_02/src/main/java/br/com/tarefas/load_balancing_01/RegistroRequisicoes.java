@@ -0,0 +1,50 @@
+package br.com.tarefas.load_balancing_01;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Registro de cada GET /api, usado pelo modo servlet e pelo reativo.
+// A contagem vai para o contador 'api.requisicoes' (tag 'servidor'), lido em /actuator/prometheus;
+// no log entra só uma requisição a cada 'api.log.amostragem' (1 registra todas, 0 desliga).
+// O sorteio usa o gerador da própria thread, então as requisições não disputam um contador compartilhado.
+@Component
+public class RegistroRequisicoes {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroRequisicoes.class);
+
+    private final String serverId;
+    private final int amostragem;
+    private final Counter requisicoes;
+
+    public RegistroRequisicoes(@Value("${SERVER_ID:API-DEFAULT}") String serverId,
+                               @Value("${api.log.amostragem:1000}") int amostragem,
+                               MeterRegistry meterRegistry) {
+        this.serverId = serverId;
+        this.amostragem = amostragem;
+        this.requisicoes = Counter.builder("api.requisicoes")
+                .description("Requisições recebidas em GET /api")
+                .tag("servidor", serverId)
+                .register(meterRegistry);
+    }
+
+    public void registrar() {
+        requisicoes.increment();
+        if (amostragem > 0 && ThreadLocalRandom.current().nextInt(amostragem) == 0) {
+            log.atInfo()
+                    .setMessage("Recebeu requisição")
+                    .addKeyValue("servidor", serverId)
+                    .addKeyValue("requisicoes", (long) requisicoes.count())
+                    .addKeyValue("amostragem", amostragem)
+                    .log();
+        }
+    }
+
+    public long total() {
+        return (long) requisicoes.count();
+    }
+}
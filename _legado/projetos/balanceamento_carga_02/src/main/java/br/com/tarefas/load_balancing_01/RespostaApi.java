@@ -0,0 +1,51 @@
+package br.com.tarefas.load_balancing_01;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+// Corpo de GET /api já serializado. O id do servidor não muda, então o início do JSON é montado uma vez;
+// o timestamp de Date.toString() só muda a cada segundo, então o corpo inteiro é reaproveitado
+// por todas as requisições do mesmo segundo, em vez de um Map e uma serialização por requisição.
+@Component
+public class RespostaApi {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final byte[] inicio;
+    private volatile Corpo atual = new Corpo(-1, new byte[0]);
+
+    public RespostaApi(@Value("${SERVER_ID:API-DEFAULT}") String serverId) throws JsonProcessingException {
+        this.inicio = ("{\"servidor\":" + objectMapper.writeValueAsString(serverId) + ",\"timestamp\":")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public byte[] json() {
+        long segundo = System.currentTimeMillis() / 1000;
+        Corpo corpo = atual;
+        if (corpo.segundo() != segundo) {
+            // Duas threads podem refazer o corpo ao mesmo tempo na virada do segundo; o resultado é o mesmo
+            corpo = new Corpo(segundo, montar(segundo));
+            atual = corpo;
+        }
+        return corpo.json();
+    }
+
+    private byte[] montar(long segundo) {
+        try {
+            ByteArrayOutputStream json = new ByteArrayOutputStream(inicio.length + 40);
+            json.writeBytes(inicio);
+            json.writeBytes(objectMapper.writeValueAsBytes(new Date(segundo * 1000).toString()));
+            json.write('}');
+            return json.toByteArray();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Corpo(long segundo, byte[] json) {
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.tarefas.load_balancing_01;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "SERVER_ID=API-TESTE")
+@ActiveProfiles("reativo")
+@AutoConfigureObservability
+class ApiReativaTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private RespostaApi respostaApi;
+
+    @Test
+    void getApi_RespondeOMesmoJsonDoModoServlet() {
+        webTestClient.get().uri("/api")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/json")
+                .expectBody()
+                .jsonPath("$.servidor").isEqualTo("API-TESTE")
+                .jsonPath("$.timestamp").isNotEmpty();
+    }
+
+    @Test
+    void getApi_ContaARequisicaoNasMetricasDoServidor() {
+        webTestClient.get().uri("/api").exchange().expectStatus().isOk();
+
+        webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(metricas -> assertTrue(metricas.contains("api_requisicoes_total{servidor=\"API-TESTE\"}"), metricas));
+    }
+
+    @Test
+    void json_ReaproveitaOCorpoDentroDoMesmoSegundo() {
+        long segundo = System.currentTimeMillis() / 1000;
+        byte[] primeiro = respostaApi.json();
+        byte[] segundoPedido = respostaApi.json();
+        assumeTrue(System.currentTimeMillis() / 1000 == segundo, "O segundo virou entre as chamadas");
+        assertSame(primeiro, segundoPedido);
+    }
+}
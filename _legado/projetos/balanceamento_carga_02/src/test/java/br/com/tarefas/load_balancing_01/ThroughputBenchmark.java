@@ -0,0 +1,114 @@
+package br.com.tarefas.load_balancing_01;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Vazão de GET /api no modo servlet (Tomcat, ApiController) e no reativo (Netty, ApiRotasReativas),
+ * com o mesmo cliente: CLIENTES conexões fazendo requisições sem pausa. O log vai para um arquivo
+ * (como o de um contêiner), então o custo de escrevê-lo entra na medida; para comparar com um log
+ * por requisição, rode com -Dapi.log.amostragem=1.
+ * Fora da execução normal dos testes; para rodar:
+ *
+ *   ./mvnw test -Dtest=ThroughputBenchmark -Dtestes.excluidos=none
+ */
+@Tag("benchmark")
+class ThroughputBenchmark {
+
+    private static final int CLIENTES = 64;
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(5);
+    private static final Duration MEDICAO = Duration.ofSeconds(15);
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void compararServletComReativo() throws Exception {
+        System.out.printf("%-8s %12s %10s %10s %10s%n", "modo", "req/s", "p50 (ms)", "p99 (ms)", "erros");
+        medir("servlet");
+        medir("reativo");
+    }
+
+    // A saída vai para o arquivo antes de a aplicação subir: o ConsoleAppender do logback guarda o System.out da partida
+    private void medir(String modo) throws Exception {
+        PrintStream console = System.out;
+        try (PrintStream log = new PrintStream(new FileOutputStream(pasta.resolve(modo + ".log").toFile()), true)) {
+            System.setOut(log);
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadBalancing01Application.class)
+                    .run("--server.port=0", "--SERVER_ID=API-" + modo, "--spring.profiles.active=" + modo)) {
+                URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api");
+                carga(uri, AQUECIMENTO);
+                Resultado resultado = carga(uri, MEDICAO);
+                console.printf("%-8s %12.0f %10.2f %10.2f %10d%n", modo, resultado.requisicoes() / (double) MEDICAO.toSeconds(),
+                        resultado.percentilMs(0.50), resultado.percentilMs(0.99), resultado.erros());
+            } finally {
+                System.setOut(console);
+            }
+        }
+    }
+
+    // Cada cliente é uma thread virtual com a própria conexão (HTTP/1.1, como o Nginx faz com o upstream)
+    private Resultado carga(URI uri, Duration duracao) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).build();
+        long fim = System.nanoTime() + duracao.toNanos();
+        List<Future<long[]>> clientes = new ArrayList<>();
+        int[] erros = new int[1];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTES; i++) {
+                clientes.add(executor.submit(() -> {
+                    HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                    long[] latencias = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < fim) {
+                        long inicio = System.nanoTime();
+                        HttpResponse<byte[]> resposta = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (resposta.statusCode() != 200) {
+                            synchronized (erros) {
+                                erros[0]++;
+                            }
+                        }
+                        if (n == latencias.length) {
+                            latencias = Arrays.copyOf(latencias, n * 2);
+                        }
+                        latencias[n++] = System.nanoTime() - inicio;
+                    }
+                    return Arrays.copyOf(latencias, n);
+                }));
+            }
+        }
+        List<long[]> porCliente = new ArrayList<>();
+        for (Future<long[]> cliente : clientes) {
+            porCliente.add(cliente.get());
+        }
+        long[] todas = porCliente.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Resultado(todas, erros[0]);
+    }
+
+    private record Resultado(long[] latenciasNs, int erros) {
+        long requisicoes() {
+            return latenciasNs.length;
+        }
+
+        double percentilMs(double percentil) {
+            return latenciasNs.length == 0 ? 0 : latenciasNs[(int) Math.min(latenciasNs.length - 1, percentil * latenciasNs.length)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persistência em um arquivo mapeado em memória (perfil 'arquivo'), sem JPA/Hibernate nem banco.
+ *
+ * Layout: cabeçalho de 64 bytes (mágico, total de registros, último id entregue) seguido de registros
+ * de tamanho fixo (512 bytes):
+ * id (long) | flags (byte: 1 = concluída, 2 = removida) | tamanho da descrição (short, -1 = nula) | descrição UTF-8.
+ *
+ * Novas tarefas são anexadas ao fim. Alternar 'concluida' grava um único byte no lugar; uma nova descrição
+ * é anexada como um registro novo e só depois o antigo é marcado como removido, de modo que uma queda no
+ * meio nunca deixa um registro vivo pela metade. Exclusões só marcam o registro como removido.
+ * Um índice id -> posição, ordenado por id (a ordem de criação), fica em memória e é reconstruído ao abrir
+ * o arquivo. Uma compactação em segundo plano reaproveita o espaço dos registros removidos.
+ */
+@Component
+@Profile("arquivo")
+public class ArquivoTarefaStore implements TarefaStore, Closeable {
+
+    static final int TAMANHO_REGISTRO = 512;
+    static final int MAX_BYTES_DESCRICAO = TAMANHO_REGISTRO - 11;
+
+    private static final int MAGICO = 0x54524631; // "TRF1"
+    private static final int TAMANHO_CABECALHO = 64;
+    private static final int POS_TOTAL_REGISTROS = 4;
+    private static final int POS_ULTIMO_ID = 8;
+    private static final byte CONCLUIDA = 1;
+    private static final byte REMOVIDA = 2;
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private final FileChannel canal;
+    private MappedByteBuffer mapa;
+    private int capacidade;
+
+    // Leituras compartilham o lock; escritas e a compactação são exclusivas
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Long, Integer> indice = new TreeMap<>();
+    private int totalRegistros;
+    private int removidos;
+    private long ultimoId;
+
+    private final ScheduledExecutorService compactador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "tarefa-compactador");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ArquivoTarefaStore(@Value("${tarefas.arquivo:./data/tarefas.dat}") Path arquivo,
+                              @Value("${tarefas.compactacao.intervalo-segundos:30}") long intervaloCompactacao)
+            throws IOException {
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        if (pasta != null) {
+            Files.createDirectories(pasta);
+        }
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean novo = canal.size() == 0;
+        long registrosNoArquivo = novo ? 0 : (canal.size() - TAMANHO_CABECALHO) / TAMANHO_REGISTRO;
+        mapear((int) Math.max(CAPACIDADE_INICIAL, registrosNoArquivo));
+
+        if (novo) {
+            mapa.putInt(0, MAGICO);
+            mapa.putInt(POS_TOTAL_REGISTROS, 0);
+            mapa.putLong(POS_ULTIMO_ID, 0);
+            mapa.force();
+        } else if (mapa.getInt(0) != MAGICO) {
+            throw new IOException("Arquivo de tarefas inválido: " + arquivo);
+        }
+        carregarIndice();
+
+        compactador.scheduleWithFixedDelay(this::compactarSeNecessario,
+                intervaloCompactacao, intervaloCompactacao, TimeUnit.SECONDS);
+    }
+
+    // Uma varredura sequencial do arquivo: é o que torna a inicialização quase instantânea
+    private void carregarIndice() {
+        totalRegistros = mapa.getInt(POS_TOTAL_REGISTROS);
+        // O cabeçalho guarda ids já descartados pela compactação; o maior id nos registros cobre
+        // arquivos gravados antes de o cabeçalho ter esse campo (zerado)
+        ultimoId = mapa.getLong(POS_ULTIMO_ID);
+        for (int posicao = 0; posicao < totalRegistros; posicao++) {
+            int offset = offset(posicao);
+            long id = mapa.getLong(offset);
+            ultimoId = Math.max(ultimoId, id);
+            if ((mapa.get(offset + 8) & REMOVIDA) != 0) {
+                removidos++;
+                continue;
+            }
+            Integer anterior = indice.put(id, posicao);
+            if (anterior != null) {
+                // Cópia deixada por uma edição ou compactação interrompida: vale a mais recente (a de posição maior)
+                mapa.put(offset(anterior) + 8, (byte) (mapa.get(offset(anterior) + 8) | REMOVIDA));
+                removidos++;
+            }
+        }
+    }
+
+    @Override
+    public List<Tarefa> listarTodas() {
+        lock.readLock().lock();
+        try {
+            // Ordenado por id, ou seja, pela ordem de criação (uma tarefa editada pode estar no fim do arquivo)
+            List<Tarefa> tarefas = new ArrayList<>(indice.size());
+            for (int posicao : indice.values()) {
+                tarefas.add(ler(posicao));
+            }
+            return tarefas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Percorre o índice (ordenado por id, como a página da JPA) e só lê do arquivo os registros da página
+    @Override
+    public List<Tarefa> listarPagina(int pagina, int tamanho) {
+        long inicio = (long) pagina * tamanho;
+        lock.readLock().lock();
+        try {
+            List<Tarefa> tarefas = new ArrayList<>(tamanho);
+            long vistos = 0;
+            for (int posicao : indice.values()) {
+                if (tarefas.size() == tamanho) {
+                    break;
+                }
+                if (vistos++ >= inicio) {
+                    tarefas.add(ler(posicao));
+                }
+            }
+            return tarefas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long contar() {
+        lock.readLock().lock();
+        try {
+            return indice.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Tarefa> buscarPorId(Long id) {
+        lock.readLock().lock();
+        try {
+            Integer posicao = indice.get(id);
+            return posicao == null ? Optional.empty() : Optional.of(ler(posicao));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existePorId(Long id) {
+        lock.readLock().lock();
+        try {
+            return indice.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Tarefa salvar(Tarefa tarefa) {
+        byte[] descricao = tarefa.getDescricao() == null ? null : tarefa.getDescricao().getBytes(StandardCharsets.UTF_8);
+        if (descricao != null && descricao.length > MAX_BYTES_DESCRICAO) {
+            throw new IllegalArgumentException("A descrição excede " + MAX_BYTES_DESCRICAO + " bytes.");
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer posicao = tarefa.getId() == null ? null : indice.get(tarefa.getId());
+            if (posicao != null && mesmaDescricao(posicao, descricao)) {
+                // Só o status mudou: atualiza um único byte no lugar
+                int offsetFlags = offset(posicao) + 8;
+                mapa.put(offsetFlags, flags(tarefa));
+                mapa.force(offsetFlags, 1);
+                return tarefa;
+            }
+            Integer anterior = posicao;
+            if (anterior == null) {
+                // Id nulo ou desconhecido: nova tarefa, como faria o JPA
+                tarefa.setId(++ultimoId);
+                mapa.putLong(POS_ULTIMO_ID, ultimoId); // Vai ao disco com o cabeçalho, em anexarPosicao()
+            }
+            // Sempre um registro novo no fim: reescrever o registro vivo no lugar o deixaria pela metade numa queda
+            posicao = anexarPosicao();
+            escrever(posicao, tarefa.getId(), flags(tarefa), descricao);
+            indice.put(tarefa.getId(), posicao);
+            if (anterior != null) {
+                // Só agora a versão antiga sai; se cair antes disso, carregarIndice() fica com a nova
+                marcarRemovido(anterior);
+                mapa.force(offset(anterior) + 8, 1);
+            }
+            return tarefa;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deletarPorId(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer posicao = indice.remove(id);
+            if (posicao != null) {
+                marcarRemovido(posicao);
+                mapa.force(offset(posicao) + 8, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> deletarVarios(List<Long> ids) {
+        List<Long> excluidos = new ArrayList<>(ids.size());
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                Integer posicao = indice.remove(id);
+                if (posicao != null) {
+                    marcarRemovido(posicao);
+                    excluidos.add(id);
+                }
+            }
+            mapa.force(); // Um único flush para o lote inteiro
+            return excluidos;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Compacta quando ao menos 1/4 dos registros está removido
+    void compactarSeNecessario() {
+        lock.writeLock().lock();
+        try {
+            if (removidos > 0 && removidos * 4 >= totalRegistros) {
+                compactar();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Move os registros vivos para o início do arquivo, preservando a ordem.
+    // Se for interrompida, carregarIndice() descarta as cópias duplicadas.
+    void compactar() {
+        lock.writeLock().lock();
+        try {
+            int destino = 0;
+            byte[] registro = new byte[TAMANHO_REGISTRO];
+            for (int origem = 0; origem < totalRegistros; origem++) {
+                int offsetOrigem = offset(origem);
+                if ((mapa.get(offsetOrigem + 8) & REMOVIDA) != 0) {
+                    continue;
+                }
+                if (origem != destino) {
+                    mapa.get(offsetOrigem, registro);
+                    mapa.put(offset(destino), registro);
+                    indice.put(mapa.getLong(offsetOrigem), destino);
+                }
+                destino++;
+            }
+            mapa.force(); // Registros movidos chegam ao disco antes do novo total
+            totalRegistros = destino;
+            removidos = 0;
+            mapa.putInt(POS_TOTAL_REGISTROS, totalRegistros);
+            mapa.force(0, TAMANHO_CABECALHO);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int totalRegistros() {
+        return totalRegistros;
+    }
+
+    @PreDestroy
+    @Override
+    public void close() throws IOException {
+        compactador.shutdownNow();
+        lock.writeLock().lock();
+        try {
+            mapa.force();
+            canal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Tarefa ler(int posicao) {
+        int offset = offset(posicao);
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(mapa.getLong(offset));
+        tarefa.setConcluida((mapa.get(offset + 8) & CONCLUIDA) != 0);
+        short tamanho = mapa.getShort(offset + 9);
+        if (tamanho >= 0) {
+            byte[] descricao = new byte[tamanho];
+            mapa.get(offset + 11, descricao);
+            tarefa.setDescricao(new String(descricao, StandardCharsets.UTF_8));
+        }
+        return tarefa;
+    }
+
+    private boolean mesmaDescricao(int posicao, byte[] descricao) {
+        int offset = offset(posicao);
+        short tamanho = mapa.getShort(offset + 9);
+        if (descricao == null || tamanho != descricao.length) {
+            return descricao == null && tamanho < 0;
+        }
+        for (int i = 0; i < tamanho; i++) {
+            if (mapa.get(offset + 11 + i) != descricao[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void escrever(int posicao, long id, byte flags, byte[] descricao) {
+        int offset = offset(posicao);
+        mapa.putLong(offset, id);
+        mapa.putShort(offset + 9, (short) (descricao == null ? -1 : descricao.length));
+        if (descricao != null) {
+            mapa.put(offset + 11, descricao);
+        }
+        // Por último: o registro, recém-anexado e ainda marcado como removido, só fica válido com o conteúdo completo
+        mapa.put(offset + 8, flags);
+        mapa.force(offset, TAMANHO_REGISTRO);
+    }
+
+    private void marcarRemovido(int posicao) {
+        int offsetFlags = offset(posicao) + 8;
+        mapa.put(offsetFlags, (byte) (mapa.get(offsetFlags) | REMOVIDA));
+        removidos++;
+    }
+
+    private int anexarPosicao() {
+        if (totalRegistros == capacidade) {
+            try {
+                mapear(capacidade * 2);
+            } catch (IOException e) {
+                throw new IllegalStateException("Não foi possível ampliar o arquivo de tarefas", e);
+            }
+        }
+        int posicao = totalRegistros++;
+        // Marca como removido até ser escrito por completo
+        mapa.put(offset(posicao) + 8, REMOVIDA);
+        mapa.putInt(POS_TOTAL_REGISTROS, totalRegistros);
+        mapa.force(0, TAMANHO_CABECALHO);
+        return posicao;
+    }
+
+    private void mapear(int novaCapacidade) throws IOException {
+        capacidade = novaCapacidade;
+        mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, offset(capacidade));
+    }
+
+    private static byte flags(Tarefa tarefa) {
+        return tarefa.isConcluida() ? CONCLUIDA : 0;
+    }
+
+    private static int offset(int posicao) {
+        return TAMANHO_CABECALHO + posicao * TAMANHO_REGISTRO;
+    }
+}
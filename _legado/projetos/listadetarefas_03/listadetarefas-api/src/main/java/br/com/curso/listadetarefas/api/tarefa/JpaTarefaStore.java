@@ -0,0 +1,35 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@Profile("!arquivo")
+public class JpaTarefaStore implements TarefaStore {
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    public List<Tarefa> listarTodas() { return tarefaRepository.findAll(); }
+    public List<Tarefa> listarPagina(int pagina, int tamanho) {
+        return tarefaRepository.findAll(PageRequest.of(pagina, tamanho, Sort.by("id"))).getContent();
+    }
+    public long contar() { return tarefaRepository.count(); }
+    public Optional<Tarefa> buscarPorId(Long id) { return tarefaRepository.findById(id); }
+    public Tarefa salvar(Tarefa tarefa) { return tarefaRepository.save(tarefa); }
+    public boolean existePorId(Long id) { return tarefaRepository.existsById(id); }
+    public void deletarPorId(Long id) { tarefaRepository.deleteById(id); }
+
+    // Um SELECT ... IN e um DELETE ... IN, em vez de dois comandos por tarefa
+    @Transactional
+    public List<Long> deletarVarios(List<Long> ids) {
+        List<Tarefa> existentes = tarefaRepository.findAllById(ids);
+        tarefaRepository.deleteAllInBatch(existentes);
+        return existentes.stream().map(Tarefa::getId).toList();
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PaginaTarefasDTO {
+    // Total de tarefas, para o cliente dimensionar a lista sem baixá-la inteira
+    private long total;
+    // Tarefas da página, em ordem de criação (id)
+    private List<Tarefa> tarefas;
+}
@@ -11,12 +11,41 @@ import java.util.List;
 public class TarefaController {
     @Autowired
     private TarefaService tarefaService;
+    @Autowired
+    private IdempotenciaCache idempotencia;
 
     @GetMapping
     public List<Tarefa> listarTarefas() { return tarefaService.listarTodas(); }
 
+    // Para listas grandes: o cliente busca só as páginas que está exibindo
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaTarefasDTO> listarPagina(@RequestParam(defaultValue = "0") int pagina,
+                                                         @RequestParam(defaultValue = "100") int tamanho) {
+        try {
+            return ResponseEntity.ok(tarefaService.listarPagina(pagina, tamanho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Tarefa> buscarTarefa(@PathVariable Long id) {
+        return ResponseEntity.of(tarefaService.buscarPorId(id));
+    }
+
+    // Com Idempotency-Key, um reenvio devolve a tarefa criada na primeira vez
     @PostMapping
-    public Tarefa criarTarefa(@RequestBody Tarefa tarefa) { return tarefaService.criar(tarefa); }
+    public ResponseEntity<Tarefa> criarTarefa(@RequestBody Tarefa tarefa,
+                                              @RequestHeader(value = "Idempotency-Key", required = false) String chave) {
+        if (chave == null) {
+            return ResponseEntity.ok(tarefaService.criar(tarefa));
+        }
+        try {
+            return ResponseEntity.ok(idempotencia.criar(chave, tarefa, () -> tarefaService.criar(tarefa)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
     @PutMapping("/{id}")
     public ResponseEntity<Tarefa> atualizarTarefa(@PathVariable Long id, @RequestBody Tarefa tarefa) {
@@ -27,6 +56,16 @@ public class TarefaController {
         }
     }
 
+    // Exclusão em lote: uma chamada para até 500 tarefas; as que não existem voltam em 'naoEncontradas'
+    @PostMapping("/exclusao")
+    public ResponseEntity<ExclusaoEmLoteDTO> deletarTarefas(@RequestBody List<Long> ids) {
+        try {
+            return ResponseEntity.ok(tarefaService.deletarEmLote(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletarTarefa(@PathVariable Long id) {
         try {
@@ -2,27 +2,45 @@ package br.com.curso.listadetarefas.api.tarefa;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TarefaService {
     @Autowired
-    private TarefaRepository tarefaRepository;
+    private TarefaStore tarefaStore;
 
-    public List<Tarefa> listarTodas() { return tarefaRepository.findAll(); }
-    public Tarefa criar(Tarefa tarefa) { return tarefaRepository.save(tarefa); }
+    public List<Tarefa> listarTodas() { return tarefaStore.listarTodas(); }
+    public PaginaTarefasDTO listarPagina(int pagina, int tamanho) {
+        if (pagina < 0 || tamanho < 1 || tamanho > 500) {
+            throw new IllegalArgumentException("A página deve ser >= 0 e o tamanho entre 1 e 500.");
+        }
+        return new PaginaTarefasDTO(tarefaStore.contar(), tarefaStore.listarPagina(pagina, tamanho));
+    }
+    public Optional<Tarefa> buscarPorId(Long id) { return tarefaStore.buscarPorId(id); }
+    public Tarefa criar(Tarefa tarefa) { return tarefaStore.salvar(tarefa); }
     public Tarefa atualizar(Long id, Tarefa tarefaAtualizada) {
-        return tarefaRepository.findById(id)
+        return tarefaStore.buscarPorId(id)
                 .map(tarefaExistente -> {
                     tarefaExistente.setDescricao(tarefaAtualizada.getDescricao());
                     tarefaExistente.setConcluida(tarefaAtualizada.isConcluida());
-                    return tarefaRepository.save(tarefaExistente);
+                    return tarefaStore.salvar(tarefaExistente);
                 }).orElseThrow(() -> new RuntimeException("Tarefa não encontrada: " + id));
     }
     public void deletar(Long id) {
-        if (!tarefaRepository.existsById(id)) {
+        if (!tarefaStore.existePorId(id)) {
             throw new RuntimeException("Tarefa não encontrada: " + id);
         }
-        tarefaRepository.deleteById(id);
+        tarefaStore.deletarPorId(id);
+    }
+    public ExclusaoEmLoteDTO deletarEmLote(List<Long> ids) {
+        if (ids.size() > 500) {
+            throw new IllegalArgumentException("No máximo 500 tarefas por exclusão em lote.");
+        }
+        List<Long> excluidas = tarefaStore.deletarVarios(ids);
+        Set<Long> removidas = new HashSet<>(excluidas);
+        return new ExclusaoEmLoteDTO(excluidas, ids.stream().filter(id -> !removidas.contains(id)).toList());
     }
-}
\ No newline at end of file
+}
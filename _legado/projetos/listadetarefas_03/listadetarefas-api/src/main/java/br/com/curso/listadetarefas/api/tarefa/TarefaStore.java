@@ -0,0 +1,19 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import java.util.List;
+import java.util.Optional;
+
+// Persistência usada pelo TarefaService.
+// JpaTarefaStore por padrão; ArquivoTarefaStore com o perfil 'arquivo' (sem JPA/Hibernate).
+public interface TarefaStore {
+    List<Tarefa> listarTodas();
+    // Página 'pagina' (a partir de 0) com até 'tamanho' tarefas, em ordem de criação
+    List<Tarefa> listarPagina(int pagina, int tamanho);
+    long contar();
+    Optional<Tarefa> buscarPorId(Long id);
+    Tarefa salvar(Tarefa tarefa);
+    boolean existePorId(Long id);
+    void deletarPorId(Long id);
+    // Exclui os que existirem e devolve os ids efetivamente removidos
+    List<Long> deletarVarios(List<Long> ids);
+}
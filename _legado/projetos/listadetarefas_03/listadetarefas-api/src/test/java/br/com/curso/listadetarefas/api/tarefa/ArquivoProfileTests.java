@@ -0,0 +1,56 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("arquivo")
+class ArquivoProfileTests {
+
+    @TempDir
+    static Path pasta;
+
+    @DynamicPropertySource
+    static void arquivo(DynamicPropertyRegistry propriedades) {
+        propriedades.add("tarefas.arquivo", () -> pasta.resolve("tarefas.dat").toString());
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private TarefaService tarefaService;
+
+    @Test
+    void perfilArquivo_NaoIniciaBancoNemHibernate() {
+        assertTrue(context.getBeansOfType(DataSource.class).isEmpty());
+        assertTrue(context.getBeansOfType(TarefaRepository.class).isEmpty());
+        assertInstanceOf(ArquivoTarefaStore.class, context.getBean(TarefaStore.class));
+    }
+
+    @Test
+    void perfilArquivo_CrudCompleto() {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setDescricao("Via perfil arquivo");
+        Tarefa criada = tarefaService.criar(tarefa);
+
+        Tarefa alteracao = new Tarefa();
+        alteracao.setDescricao("Via perfil arquivo");
+        alteracao.setConcluida(true);
+        assertTrue(tarefaService.atualizar(criada.getId(), alteracao).isConcluida());
+
+        tarefaService.deletar(criada.getId());
+        assertTrue(tarefaService.listarTodas().stream().noneMatch(t -> t.getId().equals(criada.getId())));
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArquivoTarefaStoreTest {
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void salvar_PersisteEntreAberturas() throws Exception {
+        Path arquivo = pasta.resolve("tarefas.dat");
+        Long id;
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            id = store.salvar(nova("Estudar Java NIO")).getId();
+            store.salvar(nova("Ação com acentuação"));
+        }
+
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            List<Tarefa> tarefas = store.listarTodas();
+            assertEquals(2, tarefas.size());
+            assertEquals("Estudar Java NIO", store.buscarPorId(id).orElseThrow().getDescricao());
+            assertEquals("Ação com acentuação", tarefas.get(1).getDescricao());
+            assertEquals(id + 2, store.salvar(nova("Próxima")).getId()); // Ids não são reaproveitados
+        }
+    }
+
+    @Test
+    void salvar_StatusNoLugarEDescricaoEmUmRegistroNovo() throws Exception {
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(pasta.resolve("tarefas.dat"), 3600)) {
+            Tarefa tarefa = store.salvar(nova("Alternar status"));
+            store.salvar(nova("Outra"));
+
+            tarefa.setConcluida(true);
+            store.salvar(tarefa);
+            assertEquals(2, store.totalRegistros()); // Só o byte de flags mudou
+
+            tarefa.setDescricao("Descrição nova");
+            store.salvar(tarefa);
+
+            Tarefa lida = store.buscarPorId(tarefa.getId()).orElseThrow();
+            assertTrue(lida.isConcluida());
+            assertEquals("Descrição nova", lida.getDescricao());
+            assertEquals(3, store.totalRegistros()); // Anexada; a versão antiga ficou marcada como removida
+            assertEquals(2, store.contar());
+            // A ordem continua a de criação, mesmo com a editada no fim do arquivo
+            assertEquals(List.of(tarefa.getId(), tarefa.getId() + 1),
+                    store.listarTodas().stream().map(Tarefa::getId).toList());
+            assertEquals(List.of(tarefa.getId()), store.listarPagina(0, 1).stream().map(Tarefa::getId).toList());
+        }
+    }
+
+    @Test
+    void salvar_QuedaAntesDeRemoverAVersaoAntiga_ReabreComANova() throws Exception {
+        Path arquivo = pasta.resolve("tarefas.dat");
+        Long id;
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            Tarefa tarefa = store.salvar(nova("Antes"));
+            id = tarefa.getId();
+            tarefa.setDescricao("Depois");
+            store.salvar(tarefa);
+        }
+        // Desfaz a marcação de removido do registro antigo (posição 0), como se a queda viesse antes dela
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[]{0}), 64 + 8);
+        }
+
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            assertEquals(1, store.contar());
+            assertEquals("Depois", store.buscarPorId(id).orElseThrow().getDescricao());
+        }
+    }
+
+    @Test
+    void compactar_RemoveRegistrosExcluidosEPreservaOsDemais() throws Exception {
+        Path arquivo = pasta.resolve("tarefas.dat");
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            for (int i = 1; i <= 10; i++) {
+                store.salvar(nova("Tarefa " + i));
+            }
+            for (long id = 1; id <= 10; id += 2) {
+                store.deletarPorId(id);
+            }
+
+            store.compactarSeNecessario();
+
+            assertEquals(5, store.totalRegistros());
+            assertFalse(store.existePorId(1L));
+            assertEquals(List.of(2L, 4L, 6L, 8L, 10L), store.listarTodas().stream().map(Tarefa::getId).toList());
+        }
+
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            assertEquals("Tarefa 10", store.buscarPorId(10L).orElseThrow().getDescricao());
+            assertEquals(11L, store.salvar(nova("Depois da compactação")).getId());
+        }
+    }
+
+    @Test
+    void compactar_NaoDevolveOIdDaUltimaTarefaExcluidaAposReabrir() throws Exception {
+        Path arquivo = pasta.resolve("tarefas.dat");
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            store.salvar(nova("Fica"));
+            Long ultimo = store.salvar(nova("Excluída")).getId();
+            store.deletarPorId(ultimo);
+            store.compactar();
+            assertEquals(1, store.totalRegistros()); // O registro com o maior id saiu do arquivo
+        }
+
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            assertEquals(3L, store.salvar(nova("Depois de reabrir")).getId());
+        }
+    }
+
+    @Test
+    void deletarVarios_RemoveOsExistentesEPersiste() throws Exception {
+        Path arquivo = pasta.resolve("tarefas.dat");
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            for (int i = 1; i <= 4; i++) {
+                store.salvar(nova("Tarefa " + i));
+            }
+
+            assertEquals(List.of(1L, 3L), store.deletarVarios(List.of(1L, 3L, 99L)));
+        }
+
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            assertEquals(List.of(2L, 4L), store.listarTodas().stream().map(Tarefa::getId).toList());
+        }
+    }
+
+    @Test
+    void listarPagina_PulaExcluidasEMantemAOrdem() throws Exception {
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(pasta.resolve("tarefas.dat"), 3600)) {
+            for (int i = 1; i <= 7; i++) {
+                store.salvar(nova("Tarefa " + i));
+            }
+            store.deletarPorId(2L);
+
+            assertEquals(6, store.contar());
+            assertEquals(List.of(1L, 3L, 4L), store.listarPagina(0, 3).stream().map(Tarefa::getId).toList());
+            assertEquals(List.of(5L, 6L, 7L), store.listarPagina(1, 3).stream().map(Tarefa::getId).toList());
+            assertTrue(store.listarPagina(2, 3).isEmpty());
+        }
+    }
+
+    @Test
+    void salvar_AmpliaOArquivoQuandoNecessario() throws Exception {
+        Path arquivo = pasta.resolve("tarefas.dat");
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            for (int i = 0; i < 1500; i++) {
+                store.salvar(nova("Tarefa " + i));
+            }
+        }
+        assertTrue(Files.size(arquivo) > 1024L * ArquivoTarefaStore.TAMANHO_REGISTRO);
+
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(arquivo, 3600)) {
+            assertEquals(1500, store.listarTodas().size());
+        }
+    }
+
+    @Test
+    void salvar_RejeitaDescricaoMaiorQueORegistro() throws Exception {
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(pasta.resolve("tarefas.dat"), 3600)) {
+            Tarefa tarefa = nova("x".repeat(ArquivoTarefaStore.MAX_BYTES_DESCRICAO + 1));
+            assertThrows(IllegalArgumentException.class, () -> store.salvar(tarefa));
+        }
+    }
+
+    private static Tarefa nova(String descricao) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setDescricao(descricao);
+        return tarefa;
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import br.com.curso.listadetarefas.api.ListadetarefasApiApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Compara o JpaTarefaStore (H2 + Hibernate) com o ArquivoTarefaStore (arquivo mapeado em memória).
+ * Fora da execução normal dos testes; para rodar:
+ *
+ *   ./mvnw test -Dtest=TarefaStoreBenchmark -Dtestes.excluidos=none
+ */
+@Tag("benchmark")
+class TarefaStoreBenchmark {
+
+    private static final int TAREFAS = 10_000;
+    private static final int LISTAGENS = 50;
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void compararJpaComArquivo() {
+        System.out.printf("%-8s %12s %14s %14s %14s %14s%n",
+                "store", "contexto(ms)", "criar(us/op)", "alternar(us/op)", "buscar(us/op)", "listar(ms/op)");
+        medir("jpa", new String[0]);
+        medir("arquivo", new String[]{"--spring.profiles.active=arquivo",
+                "--tarefas.arquivo=" + pasta.resolve("tarefas.dat")});
+        // Reabre o arquivo já populado: o custo de inicialização do store em si
+        medirAbertura();
+    }
+
+    private void medir(String nome, String[] args) {
+        long inicio = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ListadetarefasApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args)) {
+            double contextoMs = (System.nanoTime() - inicio) / 1e6;
+            TarefaStore store = context.getBean(TarefaStore.class);
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < TAREFAS; i++) {
+                Tarefa tarefa = new Tarefa();
+                tarefa.setDescricao("Tarefa de benchmark " + i);
+                store.salvar(tarefa);
+            }
+            double criarUs = (System.nanoTime() - inicio) / 1e3 / TAREFAS;
+
+            List<Tarefa> tarefas = store.listarTodas();
+            inicio = System.nanoTime();
+            for (Tarefa tarefa : tarefas) {
+                tarefa.setConcluida(true);
+                store.salvar(tarefa);
+            }
+            double alternarUs = (System.nanoTime() - inicio) / 1e3 / tarefas.size();
+
+            inicio = System.nanoTime();
+            for (Tarefa tarefa : tarefas) {
+                store.buscarPorId(tarefa.getId());
+            }
+            double buscarUs = (System.nanoTime() - inicio) / 1e3 / tarefas.size();
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < LISTAGENS; i++) {
+                store.listarTodas();
+            }
+            double listarMs = (System.nanoTime() - inicio) / 1e6 / LISTAGENS;
+
+            System.out.printf("%-8s %12.1f %14.2f %14.2f %14.2f %14.2f%n",
+                    nome, contextoMs, criarUs, alternarUs, buscarUs, listarMs);
+        }
+    }
+
+    private void medirAbertura() {
+        long inicio = System.nanoTime();
+        try (ArquivoTarefaStore store = new ArquivoTarefaStore(pasta.resolve("tarefas.dat"), 3600)) {
+            double aberturaMs = (System.nanoTime() - inicio) / 1e6;
+            System.out.printf("Abertura do ArquivoTarefaStore com %d tarefas: %.2f ms%n",
+                    store.listarTodas().size(), aberturaMs);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
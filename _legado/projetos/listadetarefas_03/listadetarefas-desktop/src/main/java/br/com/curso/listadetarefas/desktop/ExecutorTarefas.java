@@ -0,0 +1,129 @@
+package br.com.curso.listadetarefas.desktop;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executor único das chamadas à API feitas pela tela.
+ *
+ * Cada operação é um Supplier de CompletableFuture (as chamadas do TarefaApiService são assíncronas).
+ * Operações com a mesma chave começam só depois que a anterior terminou, na ordem em que foram pedidas
+ * (ex.: "tarefa:7" garante que duas edições da mesma tarefa chegam à API na ordem certa);
+ * chaves diferentes rodam em paralelo. executarEmTodas() ocupa várias chaves de uma vez.
+ * O total de operações pendentes fica em pendentesProperty(), atualizado na thread do JavaFX.
+ */
+public class ExecutorTarefas {
+
+    // Só dispara as operações (montar a requisição e chamar sendAsync); a espera pela resposta não ocupa thread.
+    // O projeto compila para Java 17, então ainda não há threads virtuais
+    // (Thread.ofVirtual().factory() substitui esta fábrica quando o alvo passar a ser 21)
+    private static final int TAMANHO_POOL = 4;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(TAMANHO_POOL, novaFabrica());
+    private final Map<Object, CompletableFuture<?>> ultimaPorChave = new HashMap<>();
+    private final Map<Object, CompletableFuture<?>> aguardando = new HashMap<>();
+    private final AtomicInteger pendentes = new AtomicInteger();
+    private final ReadOnlyIntegerWrapper pendentesProperty = new ReadOnlyIntegerWrapper(0);
+
+    // Enfileira 'operacao' atrás da última operação com a mesma chave
+    public <T> CompletableFuture<T> executar(Object chave, Supplier<CompletableFuture<T>> operacao) {
+        synchronized (ultimaPorChave) {
+            return enfileirar(List.of(chave), operacao);
+        }
+    }
+
+    // Enfileira 'operacao' atrás da última operação de cada uma das chaves; as próximas operações
+    // dessas chaves esperam por ela (ex.: a exclusão em massa depois das edições das tarefas selecionadas)
+    public <T> CompletableFuture<T> executarEmTodas(Collection<?> chaves, Supplier<CompletableFuture<T>> operacao) {
+        synchronized (ultimaPorChave) {
+            return enfileirar(List.copyOf(chaves), operacao);
+        }
+    }
+
+    // Como executar, mas se já houver uma operação com a mesma chave esperando para começar,
+    // devolve o resultado dela em vez de enfileirar outra: ela ainda vai rodar e trará o mesmo dado
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executarSemRepetir(Object chave, Supplier<CompletableFuture<T>> operacao) {
+        synchronized (ultimaPorChave) {
+            CompletableFuture<?> jaNaFila = aguardando.get(chave);
+            if (jaNaFila != null) {
+                return (CompletableFuture<T>) jaNaFila;
+            }
+            CompletableFuture<T> resultado = enfileirar(List.of(chave), operacao);
+            aguardando.put(chave, resultado);
+            return resultado;
+        }
+    }
+
+    public ReadOnlyIntegerProperty pendentesProperty() {
+        return pendentesProperty.getReadOnlyProperty();
+    }
+
+    public void encerrar() {
+        pool.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> enfileirar(List<?> chaves, Supplier<CompletableFuture<T>> operacao) {
+        pendentes.incrementAndGet();
+        publicarPendentes();
+
+        CompletableFuture<?>[] anteriores = chaves.stream()
+                .map(chave -> ultimaPorChave.getOrDefault(chave, CompletableFuture.completedFuture(null)))
+                .toArray(CompletableFuture[]::new);
+        // Uma falha da anterior não trava a fila da chave. A operação sempre começa no pool (nunca
+        // dentro deste bloco synchronized), mesmo quando a anterior já terminou.
+        CompletableFuture<T> resultado = CompletableFuture.allOf(anteriores)
+                .handle((valor, erro) -> null)
+                .thenComposeAsync(nada -> iniciar(chaves, operacao), pool);
+        resultado.whenComplete((valor, erro) -> {
+            pendentes.decrementAndGet();
+            publicarPendentes();
+        });
+
+        CompletableFuture<?> cauda = resultado.handle((valor, erro) -> null);
+        chaves.forEach(chave -> ultimaPorChave.put(chave, cauda));
+        cauda.thenRun(() -> {
+            synchronized (ultimaPorChave) {
+                chaves.forEach(chave -> ultimaPorChave.remove(chave, cauda));
+            }
+        });
+        return resultado;
+    }
+
+    private <T> CompletableFuture<T> iniciar(List<?> chaves, Supplier<CompletableFuture<T>> operacao) {
+        synchronized (ultimaPorChave) {
+            chaves.forEach(aguardando::remove); // A partir daqui, um novo pedido já vê dados diferentes
+        }
+        try {
+            return operacao.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Lê o contador na thread do JavaFX, então o valor exibido é sempre o mais recente
+    private void publicarPendentes() {
+        Platform.runLater(() -> pendentesProperty.set(pendentes.get()));
+    }
+
+    private static ThreadFactory novaFabrica() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "tarefas-api-" + contador.incrementAndGet());
+            thread.setDaemon(true); // Não segura o encerramento da aplicação
+            return thread;
+        };
+    }
+}
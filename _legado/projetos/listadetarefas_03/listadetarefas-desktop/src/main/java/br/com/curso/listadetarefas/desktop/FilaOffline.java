@@ -0,0 +1,165 @@
+package br.com.curso.listadetarefas.desktop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Alterações feitas enquanto a API estava inacessível, na ordem em que foram feitas e gravadas no CacheLocal.
+ *
+ * Tarefas criadas sem conexão recebem um id temporário negativo. Editar ou excluir uma delas altera
+ * a própria operação CRIAR, e várias edições da mesma tarefa viram uma só. Uma operação que já foi
+ * (ou pode ter sido) enviada não é mais reescrita: o POST é repetido com a mesma chave de
+ * idempotência, então precisa do mesmo corpo. As alterações seguintes entram na fila com o id
+ * temporário e passam a apontar para o id real quando a criação é confirmada.
+ *
+ * reconciliar() reenvia a fila quando a API volta. Antes de cada edição ou exclusão, a versão atual
+ * da tarefa no servidor (buscada só ela, não a lista inteira) é comparada com a 'base' da operação:
+ * se mudou, vale o servidor e a alteração local é devolvida como conflito.
+ */
+public class FilaOffline {
+
+    private final CacheLocal cache;
+    private final List<OperacaoPendente> pendentes; // Acesso sob 'this'
+    private long ultimoIdTemporario;
+
+    public FilaOffline(CacheLocal cache) {
+        this.cache = cache;
+        this.pendentes = cache.carregarPendentes();
+        for (OperacaoPendente operacao : pendentes) {
+            ultimoIdTemporario = Math.min(ultimoIdTemporario, operacao.tarefa().getId());
+        }
+    }
+
+    public synchronized long novoIdTemporario() {
+        return --ultimoIdTemporario;
+    }
+
+    public synchronized int tamanho() {
+        return pendentes.size();
+    }
+
+    // Só reescreve operações ainda não enviadas (ver 'indice')
+    public synchronized void adicionar(OperacaoPendente operacao) {
+        Long id = operacao.tarefa().getId();
+        int criacao = indice(OperacaoPendente.Tipo.CRIAR, id);
+        int edicao = indice(OperacaoPendente.Tipo.ATUALIZAR, id);
+        if (criacao >= 0 && operacao.tipo() == OperacaoPendente.Tipo.ATUALIZAR) {
+            OperacaoPendente original = pendentes.get(criacao);
+            pendentes.set(criacao, OperacaoPendente.criar(operacao.tarefa(), original.chaveIdempotencia()));
+        } else if (criacao >= 0 && operacao.tipo() == OperacaoPendente.Tipo.EXCLUIR) {
+            pendentes.remove(criacao); // O servidor nunca chegou a ver esta tarefa
+        } else if (edicao >= 0 && operacao.tipo() == OperacaoPendente.Tipo.ATUALIZAR) {
+            // Mantém a base da primeira edição: é ela que o servidor ainda tem
+            pendentes.set(edicao, OperacaoPendente.atualizar(pendentes.get(edicao).base(), operacao.tarefa()));
+        } else if (edicao >= 0 && operacao.tipo() == OperacaoPendente.Tipo.EXCLUIR) {
+            // Excluída depois de editada: só a exclusão importa, comparada com o que o servidor tem
+            pendentes.add(OperacaoPendente.excluir(pendentes.remove(edicao).base()));
+        } else {
+            pendentes.add(operacao);
+        }
+        cache.salvarPendentes(pendentes);
+    }
+
+    // Reenvia a fila em ordem e devolve as mensagens de conflito. Para na primeira falha passageira
+    // (a API caiu de novo), deixando o restante para a próxima vez; nesse caso o future falha.
+    public CompletableFuture<List<String>> reconciliar(TarefaApiService api) {
+        return reenviarProxima(api, new ArrayList<>());
+    }
+
+    private CompletableFuture<List<String>> reenviarProxima(TarefaApiService api, List<String> conflitos) {
+        OperacaoPendente operacao;
+        synchronized (this) {
+            if (pendentes.isEmpty()) {
+                return CompletableFuture.completedFuture(conflitos);
+            }
+            operacao = pendentes.get(0);
+            if (!operacao.enviada()) {
+                operacao = operacao.comoEnviada();
+                pendentes.set(0, operacao);
+                cache.salvarPendentes(pendentes);
+            }
+        }
+        OperacaoPendente enviada = operacao;
+        CompletableFuture<String> verificacao = operacao.tipo() == OperacaoPendente.Tipo.CRIAR
+                ? CompletableFuture.completedFuture(null)
+                : api.buscarTarefa(operacao.base().getId()).thenApply(atual -> conflito(enviada, atual.orElse(null)));
+        return verificacao.thenCompose(conflito -> {
+            CompletableFuture<?> envio = conflito != null ? CompletableFuture.completedFuture(null) : enviar(api, enviada);
+            return envio.handle((resultado, erro) -> {
+                if (erro != null && TarefaApiException.de(erro).isRetentavel()) {
+                    return CompletableFuture.<List<String>>failedFuture(TarefaApiException.de(erro));
+                }
+                if (conflito != null) {
+                    conflitos.add(conflito);
+                } else if (erro != null) {
+                    // Recusada pela API (ex.: 400): reenviar não adiantaria
+                    conflitos.add("\"" + enviada.tarefa().getDescricao() + "\" foi recusada pela API: " + TarefaApiException.de(erro).getMessage());
+                }
+                remover(enviada, resultado instanceof Tarefa noServidor ? noServidor : null);
+                return reenviarProxima(api, conflitos);
+            }).thenCompose(proxima -> proxima);
+        });
+    }
+
+    private static CompletableFuture<?> enviar(TarefaApiService api, OperacaoPendente operacao) {
+        switch (operacao.tipo()) {
+            case CRIAR:
+                Tarefa nova = new Tarefa();
+                nova.setDescricao(operacao.tarefa().getDescricao());
+                nova.setConcluida(operacao.tarefa().isConcluida());
+                return api.adicionarTarefa(nova, operacao.chaveIdempotencia());
+            case ATUALIZAR:
+                return api.atualizarTarefa(operacao.tarefa());
+            default:
+                return api.deletarTarefa(operacao.tarefa().getId());
+        }
+    }
+
+    // 'atual' é a tarefa como está no servidor (null se não existe mais)
+    private static String conflito(OperacaoPendente operacao, Tarefa atual) {
+        if (atual == null) {
+            return operacao.tipo() == OperacaoPendente.Tipo.EXCLUIR ? null // Já excluída: o resultado é o mesmo
+                    : "\"" + operacao.base().getDescricao() + "\" foi excluída por outro usuário; sua edição foi descartada.";
+        }
+        if (operacao.base().getDescricao() == null) {
+            return null; // Excluída pela seleção sem nunca ter sido carregada: não há versão para comparar
+        }
+        if (!mesmaVersao(operacao.base(), atual)) {
+            return "\"" + operacao.base().getDescricao() + "\" foi alterada por outro usuário enquanto você estava offline; "
+                    + "vale a versão do servidor.";
+        }
+        return null;
+    }
+
+    // A API não tem número de versão: a versão é o próprio conteúdo da tarefa
+    private static boolean mesmaVersao(Tarefa base, Tarefa atual) {
+        return Objects.equals(base.getDescricao(), atual.getDescricao()) && base.isConcluida() == atual.isConcluida();
+    }
+
+    // Tira a operação pelo id da entrada. 'noServidor' é a tarefa que a API devolveu (null se a
+    // operação não foi aplicada): as operações seguintes da mesma tarefa passam a apontar para ela.
+    private synchronized void remover(OperacaoPendente operacao, Tarefa noServidor) {
+        pendentes.removeIf(pendente -> pendente.id().equals(operacao.id()));
+        Long id = operacao.tarefa().getId();
+        if (noServidor != null) {
+            pendentes.replaceAll(pendente -> pendente.tarefa().getId().equals(id) ? pendente.reapontada(noServidor) : pendente);
+        } else if (operacao.tipo() == OperacaoPendente.Tipo.CRIAR) {
+            // A tarefa não foi criada: não há o que editar ou excluir depois
+            pendentes.removeIf(pendente -> pendente.tarefa().getId().equals(id));
+        }
+        cache.salvarPendentes(pendentes);
+    }
+
+    // Só entre as operações ainda não enviadas: essas podem ser reescritas
+    private int indice(OperacaoPendente.Tipo tipo, Long id) {
+        for (int i = 0; i < pendentes.size(); i++) {
+            OperacaoPendente pendente = pendentes.get(i);
+            if (!pendente.enviada() && pendente.tipo() == tipo && pendente.tarefa().getId().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.curso.listadetarefas.desktop;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em microssegundos com memória fixa (~2,5 KB), seguro para várias threads.
+ *
+ * Cada potência de 2 é dividida em SUB_FAIXAS faixas iguais, então um percentil é estimado com erro
+ * de no máximo 1/SUB_FAIXAS (12,5%) do valor real, de 1 µs a ~12 dias. Registrar é um incremento
+ * atômico: não guarda as amostras nem bloqueia as threads do HttpClient.
+ */
+public class HistogramaLatencia {
+
+    private static final int SUB_FAIXAS = 8;
+    private static final int BITS_SUB_FAIXA = 3;
+    private static final int POTENCIAS = 40;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(POTENCIAS * SUB_FAIXAS);
+    private final LongAdder quantidade = new LongAdder();
+    private final LongAdder somaMicros = new LongAdder();
+    private final LongAccumulator maximoMicros = new LongAccumulator(Long::max, 0);
+
+    public void registrar(long micros) {
+        long valor = Math.max(micros, 0);
+        contagens.incrementAndGet(indice(valor));
+        quantidade.increment();
+        somaMicros.add(valor);
+        maximoMicros.accumulate(valor);
+    }
+
+    public long quantidade() {
+        return quantidade.sum();
+    }
+
+    // 'percentil' entre 0 e 1 (ex.: 0.95); 0 se não há amostras
+    public double percentilMs(double percentil) {
+        long total = quantidade();
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(percentil * total));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length(); i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                // Meio da faixa, sem passar do maior valor visto
+                return Math.min(inicioFaixa(i) + larguraFaixa(i) / 2.0, maximoMicros.get()) / 1000.0;
+            }
+        }
+        return maximoMicros.get() / 1000.0;
+    }
+
+    public double mediaMs() {
+        long total = quantidade();
+        return total == 0 ? 0 : somaMicros.sum() / (total * 1000.0);
+    }
+
+    public double maximoMs() {
+        return maximoMicros.get() / 1000.0;
+    }
+
+    static int indice(long micros) {
+        if (micros < SUB_FAIXAS) {
+            return (int) micros; // Abaixo de 8 µs cada valor tem a própria faixa
+        }
+        int potencia = 63 - Long.numberOfLeadingZeros(micros);
+        int subFaixa = (int) (micros >>> (potencia - BITS_SUB_FAIXA)) & (SUB_FAIXAS - 1);
+        return Math.min((potencia - BITS_SUB_FAIXA + 1) * SUB_FAIXAS + subFaixa, POTENCIAS * SUB_FAIXAS - 1);
+    }
+
+    static long inicioFaixa(int indice) {
+        if (indice < SUB_FAIXAS) {
+            return indice;
+        }
+        int potencia = indice / SUB_FAIXAS + BITS_SUB_FAIXA - 1;
+        return (long) (SUB_FAIXAS + indice % SUB_FAIXAS) << (potencia - BITS_SUB_FAIXA);
+    }
+
+    private static long larguraFaixa(int indice) {
+        return indice < SUB_FAIXAS ? 1 : 1L << (indice / SUB_FAIXAS - 1);
+    }
+}
@@ -1,19 +1,35 @@
 package br.com.curso.listadetarefas.desktop;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
-import javafx.collections.FXCollections;
-import javafx.concurrent.Task;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.ListChangeListener;
 import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.geometry.Pos;
+import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.CheckBoxTableCell;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import java.io.IOException;
 import java.net.URL;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class MainViewController implements Initializable {
@@ -24,18 +40,59 @@ public class MainViewController implements Initializable {
     @FXML private TableColumn<Tarefa, String> colunaDescricao;
     @FXML private TableColumn<Tarefa, Void> colunaAcoes;
     @FXML private TextField novaTarefaTextField;
+    @FXML private Label statusLabel;
+    @FXML private ProgressBar progressoExclusao;
 
     private final TarefaApiService tarefaService = new TarefaApiService();
+    private final ExecutorTarefas executor = new ExecutorTarefas();
+    // A tabela fica sempre com esta lista; cada operação altera só a linha afetada.
+    // Só as páginas perto do que está na tela ficam em memória (ver ListaPaginada)
+    private final ListaPaginada tarefas = new ListaPaginada(pagina -> executor.executar("pagina:" + pagina,
+            () -> tarefaService.listarPagina(pagina, ListaPaginada.TAMANHO_PAGINA)));
+    private final SelecaoTarefas selecao = new SelecaoTarefas();
+    // Edições em sequência rápida (ex.: várias caixas de "concluída") vão à API só com o estado final de cada tarefa
+    private final SincronizadorEdicoes edicoes = new SincronizadorEdicoes(this::atualizarTarefa, Platform::runLater);
+    private CompletableFuture<PaginaTarefas> ultimoCarregamento;
+
+    private final CacheLocal cache = new CacheLocal();
+    private final FilaOffline filaOffline = new FilaOffline(cache);
+    private final BooleanProperty offline = new SimpleBooleanProperty(false);
+    private final IntegerProperty alteracoesOffline = new SimpleIntegerProperty();
+    private Stage janelaDiagnostico;
 
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         configurarTabela();
+        tabelaTarefas.setItems(tarefas);
+        // A cópia local aparece na hora, sem esperar a rede; a API atualiza a lista quando responder
+        tarefas.usarLocal(cache.carregarTarefas());
+        // Com a lista paginada, a cópia local guarda as páginas que estavam em memória
+        tarefas.addListener((ListChangeListener<Tarefa>) mudanca -> cache.salvarTarefas(tarefas.carregadas()));
+        alteracoesOffline.set(filaOffline.tamanho());
+        statusLabel.textProperty().bind(Bindings.createStringBinding(this::textoStatus,
+                executor.pendentesProperty(), offline, alteracoesOffline));
+
+        // Offline ou com alterações na fila, tenta reconectar e reconciliar a cada 15 s
+        Timeline reconexao = new Timeline(new KeyFrame(Duration.seconds(15), e -> {
+            if (offline.get() || alteracoesOffline.get() > 0) {
+                carregarTarefas();
+            }
+        }));
+        reconexao.setCycleCount(Animation.INDEFINITE);
+        reconexao.play();
         carregarTarefas();
     }
 
     private void configurarTabela() {
-        // Coluna de Seleção
-        colunaSelecao.setCellValueFactory(cellData -> cellData.getValue().selecionadaProperty());
+        // Coluna de Seleção: a propriedade existe só enquanto a célula está visível; a marcação fica na SelecaoTarefas
+        colunaSelecao.setCellValueFactory(cellData -> {
+            Long id = cellData.getValue().getId();
+            SimpleBooleanProperty marcada = new SimpleBooleanProperty(id != null && selecao.isSelecionada(id));
+            if (id != null) {
+                marcada.addListener((obs, antes, agora) -> selecao.marcar(id, agora));
+            }
+            return marcada;
+        });
         colunaSelecao.setCellFactory(CheckBoxTableCell.forTableColumn(colunaSelecao));
         colunaSelecao.setEditable(true);
 
@@ -43,9 +100,13 @@ public class MainViewController implements Initializable {
         colunaConcluida.setCellValueFactory(new PropertyValueFactory<>("concluida"));
         colunaConcluida.setCellFactory(CheckBoxTableCell.forTableColumn(colunaConcluida));
         colunaConcluida.setOnEditCommit(event -> {
-            Tarefa tarefa = event.getRowValue();
-            tarefa.setConcluida(event.getNewValue());
-            atualizarTarefa(tarefa);
+            if (event.getRowValue().getId() == null) {
+                return; // Linha ainda carregando
+            }
+            Tarefa editada = event.getRowValue().copia();
+            editada.setConcluida(event.getNewValue());
+            tarefas.substituir(editada);
+            edicoes.editar(event.getRowValue(), editada);
         });
 
         // Coluna de Descrição
@@ -60,8 +121,19 @@ public class MainViewController implements Initializable {
                 pane.setAlignment(Pos.CENTER);
                 btnEditar.setStyle("-fx-base: #FFC107;");
                 btnExcluir.setStyle("-fx-base: #F44336; -fx-text-fill: white;");
-                btnEditar.setOnAction(event -> abrirDialogoEdicao(getTableView().getItems().get(getIndex())));
-                btnExcluir.setOnAction(event -> confirmarExclusao(getTableView().getItems().get(getIndex())));
+                btnEditar.setOnAction(event -> {
+                    if (tarefaDaLinha().getId() != null) {
+                        abrirDialogoEdicao(tarefaDaLinha());
+                    }
+                });
+                btnExcluir.setOnAction(event -> {
+                    if (tarefaDaLinha().getId() != null) {
+                        confirmarExclusao(tarefaDaLinha());
+                    }
+                });
+            }
+            private Tarefa tarefaDaLinha() {
+                return getTableView().getItems().get(getIndex());
             }
             @Override
             protected void updateItem(Void item, boolean empty) {
@@ -75,15 +147,34 @@ public class MainViewController implements Initializable {
 
     @FXML
     private void carregarTarefas() {
-        Task<List<Tarefa>> task = new Task<>() {
-            @Override
-            protected List<Tarefa> call() {
-                return tarefaService.listarTarefas();
-            }
-        };
-        task.setOnSucceeded(e -> tabelaTarefas.setItems(FXCollections.observableArrayList(task.getValue())));
-        task.setOnFailed(e -> exibirAlerta("Erro", "Não foi possível carregar as tarefas."));
-        new Thread(task).start();
+        // Cliques repetidos no 🔄 e recargas pedidas enquanto outra espera na fila viram um único carregamento
+        // Antes de buscar a lista, envia o que foi alterado offline (senão a lista do servidor apagaria essas alterações)
+        // Só a primeira página: as demais vêm conforme a tabela rola
+        CompletableFuture<PaginaTarefas> carregamento = executor.executarSemRepetir("carregar",
+                () -> Retentativas.comBackoff(() -> filaOffline.reconciliar(tarefaService).thenCompose(conflitos -> {
+                    if (!conflitos.isEmpty()) {
+                        exibirAlerta("Conflitos na Sincronização", String.join("\n", conflitos));
+                    }
+                    return tarefaService.listarPagina(0, ListaPaginada.TAMANHO_PAGINA);
+                })));
+        if (carregamento == ultimoCarregamento) {
+            return; // Já está na fila, com o resultado ligado à tabela
+        }
+        ultimoCarregamento = carregamento;
+        naTela(carregamento,
+                primeira -> {
+                    offline.set(false);
+                    alteracoesOffline.set(filaOffline.tamanho());
+                    tarefas.usarRemoto(primeira);
+                },
+                falha -> {
+                    alteracoesOffline.set(filaOffline.tamanho());
+                    if (falha.isRetentavel()) {
+                        offline.set(true); // Continua com a cópia local; a reconexão tenta de novo
+                    } else {
+                        exibirAlerta("Erro", "Não foi possível carregar as tarefas: " + falha.getMessage());
+                    }
+                });
     }
 
     @FXML
@@ -97,34 +188,56 @@ public class MainViewController implements Initializable {
         novaTarefa.setDescricao(descricao);
         novaTarefa.setConcluida(false);
 
-        Task<Void> task = new Task<>() {
-            @Override
-            protected Void call() {
-                tarefaService.adicionarTarefa(novaTarefa);
-                return null;
-            }
-        };
-        task.setOnSucceeded(e -> {
-            novaTarefaTextField.clear();
-            carregarTarefas();
-        });
-        task.setOnFailed(e -> exibirAlerta("Erro", "Não foi possível criar a tarefa."));
-        new Thread(task).start();
+        String chaveIdempotencia = UUID.randomUUID().toString(); // A mesma em todas as tentativas, inclusive offline
+        if (deveEnfileirar()) {
+            criarOffline(novaTarefa, chaveIdempotencia);
+            return;
+        }
+        naTela(executor.executar("criar",
+                        () -> Retentativas.comBackoff(() -> tarefaService.adicionarTarefa(novaTarefa, chaveIdempotencia))),
+                criada -> {
+                    novaTarefaTextField.clear();
+                    tarefas.adicionar(criada);
+                },
+                falha -> {
+                    if (falha.isRetentavel()) {
+                        offline.set(true);
+                        criarOffline(novaTarefa, chaveIdempotencia);
+                    } else {
+                        exibirAlerta("Erro", "Não foi possível criar a tarefa: " + falha.getMessage());
+                    }
+                });
     }
 
-    private void atualizarTarefa(Tarefa tarefa) {
-        Task<Void> task = new Task<>() {
-            @Override
-            protected Void call() {
-                tarefaService.atualizarTarefa(tarefa);
-                return null;
-            }
-        };
-        task.setOnFailed(e -> {
-            exibirAlerta("Erro", "Não foi possível sincronizar a tarefa. Recarregando...");
-            carregarTarefas();
-        });
-        new Thread(task).start();
+    private void criarOffline(Tarefa novaTarefa, String chaveIdempotencia) {
+        novaTarefa.setId(filaOffline.novoIdTemporario());
+        enfileirarOffline(OperacaoPendente.criar(novaTarefa, chaveIdempotencia));
+        novaTarefaTextField.clear();
+        tarefas.adicionar(novaTarefa);
+    }
+
+    // Chamado pelo SincronizadorEdicoes com a versão final da tarefa.
+    // 'base' é a tarefa antes da edição, usada para detectar conflitos se a edição ficar na fila offline
+    private void atualizarTarefa(Tarefa base, Tarefa editada) {
+        if (deveEnfileirar()) {
+            enfileirarOffline(OperacaoPendente.atualizar(base, editada));
+            return;
+        }
+        naTela(executor.executar(chave(editada), () -> Retentativas.comBackoff(() -> tarefaService.atualizarTarefa(editada))),
+                confirmada -> {
+                    if (!edicoes.temPendente(confirmada.getId())) {
+                        tarefas.substituir(confirmada); // Senão a tela já mostra uma edição mais nova
+                    }
+                },
+                falha -> {
+                    if (falha.isRetentavel()) {
+                        offline.set(true);
+                        enfileirarOffline(OperacaoPendente.atualizar(base, editada));
+                    } else {
+                        exibirAlerta("Erro", "Não foi possível sincronizar a tarefa (" + falha.getMessage() + "). Recarregando...");
+                        carregarTarefas();
+                    }
+                });
     }
 
     private void abrirDialogoEdicao(Tarefa tarefa) {
@@ -135,9 +248,10 @@ public class MainViewController implements Initializable {
 
         dialog.showAndWait().ifPresent(novaDescricao -> {
             if (!novaDescricao.trim().isEmpty()) {
-                tarefa.setDescricao(novaDescricao.trim());
-                atualizarTarefa(tarefa);
-                tabelaTarefas.refresh();
+                Tarefa editada = tarefa.copia();
+                editada.setDescricao(novaDescricao.trim());
+                tarefas.substituir(editada); // Mostra a edição já, antes da resposta da API
+                edicoes.editar(tarefa, editada);
             }
         });
     }
@@ -151,22 +265,39 @@ public class MainViewController implements Initializable {
     }
 
     private void deletarTarefa(Tarefa tarefa) {
-        Task<Void> task = new Task<>() {
-            @Override
-            protected Void call() {
-                tarefaService.deletarTarefa(tarefa.getId());
-                return null;
-            }
-        };
-        task.setOnSucceeded(e -> carregarTarefas());
-        task.setOnFailed(e -> exibirAlerta("Erro", "Não foi possível excluir a tarefa."));
-        new Thread(task).start();
+        edicoes.descartar(tarefa.getId());
+        if (deveEnfileirar()) {
+            excluirOffline(tarefa);
+            return;
+        }
+        naTela(executor.executar(chave(tarefa), () -> Retentativas.comBackoff(() -> tarefaService.deletarTarefa(tarefa.getId()))),
+                nada -> removerDaTela(tarefa.getId()),
+                falha -> {
+                    if (falha.isRetentavel()) {
+                        offline.set(true);
+                        excluirOffline(tarefa);
+                    } else {
+                        exibirAlerta("Erro", "Não foi possível excluir a tarefa: " + falha.getMessage());
+                    }
+                });
+    }
+
+    private void excluirOffline(Tarefa tarefa) {
+        enfileirarOffline(OperacaoPendente.excluir(tarefa));
+        removerDaTela(tarefa.getId());
+    }
+
+    // Devolve false se a tarefa não estava em uma página carregada
+    private boolean removerDaTela(Long id) {
+        selecao.marcar(id, false);
+        return tarefas.remover(id);
     }
 
     @FXML
     private void deletarTarefasSelecionadas() {
-        List<Tarefa> tarefasParaExcluir = tabelaTarefas.getItems().stream()
-                .filter(Tarefa::isSelecionada)
+        // A seleção guarda só ids: as tarefas de páginas que já saíram da memória vão só com o id
+        List<Tarefa> tarefasParaExcluir = selecao.ids().stream()
+                .map(this::carregadaOuReferencia)
                 .collect(Collectors.toList());
 
         if (tarefasParaExcluir.isEmpty()) {
@@ -180,21 +311,134 @@ public class MainViewController implements Initializable {
         alert.setContentText("Você tem certeza?");
 
         alert.showAndWait().filter(r -> r == ButtonType.OK).ifPresent(r -> {
-            Task<Void> task = new Task<>() {
-                @Override
-                protected Void call() {
-                    for (Tarefa tarefa : tarefasParaExcluir) {
-                        tarefaService.deletarTarefa(tarefa.getId());
-                    }
-                    return null;
-                }
-            };
-            task.setOnSucceeded(e -> carregarTarefas());
-            task.setOnFailed(e -> exibirAlerta("Erro", "Ocorreu um erro ao excluir as tarefas."));
-            new Thread(task).start();
+            tarefasParaExcluir.forEach(t -> edicoes.descartar(t.getId()));
+            if (deveEnfileirar()) {
+                tarefasParaExcluir.forEach(this::excluirOffline);
+                return;
+            }
+            List<Long> ids = tarefasParaExcluir.stream().map(Tarefa::getId).collect(Collectors.toList());
+            progressoExclusao.setProgress(0);
+            progressoExclusao.setVisible(true);
+            // Depois das edições ainda na fila dessas tarefas (senão o PUT chegaria depois e voltaria 404).
+            // Repetir é seguro: o que já foi excluído volta como 'não encontrada'
+            List<String> chaves = ids.stream().map(MainViewController::chave).collect(Collectors.toList());
+            CompletableFuture<Map<Long, String>> exclusao = executor.executarEmTodas(chaves,
+                    () -> Retentativas.comBackoff(() -> tarefaService.deletarTarefas(ids, (resolvidas, total) ->
+                            Platform.runLater(() -> progressoExclusao.setProgress((double) resolvidas / total)))));
+            naTela(exclusao,
+                    falhas -> {
+                        progressoExclusao.setVisible(false);
+                        boolean todasNaTela = true;
+                        for (Long id : ids) {
+                            if (!falhas.containsKey(id)) {
+                                todasNaTela &= removerDaTela(id);
+                            }
+                        }
+                        if (!todasNaTela) {
+                            carregarTarefas(); // Excluídas fora das páginas em memória: as posições mudaram
+                        }
+                        if (!falhas.isEmpty()) {
+                            exibirFalhas(tarefasParaExcluir, falhas);
+                        }
+                    },
+                    falha -> {
+                        progressoExclusao.setVisible(false);
+                        if (falha.isRetentavel()) {
+                            offline.set(true);
+                            tarefasParaExcluir.forEach(this::excluirOffline); // As já excluídas não geram conflito
+                        } else {
+                            exibirAlerta("Erro", "Ocorreu um erro ao excluir as tarefas: " + falha.getMessage());
+                            carregarTarefas(); // Parte pode ter sido excluída; a lista do servidor diz qual
+                        }
+                    });
         });
     }
 
+    // As tarefas que falharam continuam na tabela (e selecionadas), para tentar de novo
+    private void exibirFalhas(List<Tarefa> tarefasPedidas, Map<Long, String> falhas) {
+        String lista = tarefasPedidas.stream()
+                .filter(t -> falhas.containsKey(t.getId()))
+                .map(t -> "• " + (t.getDescricao() != null ? t.getDescricao() : "#" + t.getId()) + ": " + falhas.get(t.getId()))
+                .collect(Collectors.joining("\n"));
+        exibirAlerta("Exclusão Parcial", falhas.size() + " de " + tarefasPedidas.size()
+                + " tarefa(s) não foram excluídas:\n" + lista);
+    }
+
+    private Tarefa carregadaOuReferencia(Long id) {
+        Tarefa carregada = tarefas.buscarCarregada(id);
+        if (carregada != null) {
+            return carregada;
+        }
+        Tarefa referencia = new Tarefa(); // Sem descrição: não entra na comparação de versões da fila offline
+        referencia.setId(id);
+        return referencia;
+    }
+
+    // Uma única janela de diagnóstico; clicar de novo só a traz para a frente
+    @FXML
+    private void abrirDiagnostico() {
+        if (janelaDiagnostico != null) {
+            janelaDiagnostico.toFront();
+            return;
+        }
+        try {
+            FXMLLoader loader = new FXMLLoader(MainApp.class.getResource("DiagnosticoView.fxml"));
+            Scene cena = new Scene(loader.load());
+            DiagnosticoController diagnostico = loader.getController();
+            diagnostico.exibir(tarefaService.getTelemetria());
+            janelaDiagnostico = new Stage();
+            janelaDiagnostico.setTitle("Diagnóstico da API");
+            janelaDiagnostico.setScene(cena);
+            janelaDiagnostico.setOnHidden(e -> {
+                diagnostico.parar();
+                janelaDiagnostico = null;
+            });
+            janelaDiagnostico.show();
+        } catch (IOException e) {
+            exibirAlerta("Erro", "Não foi possível abrir o diagnóstico: " + e.getMessage());
+        }
+    }
+
+    // Offline, ou com alterações offline ainda na fila (para não passar na frente delas),
+    // a operação vai para a fila em vez de ir à API
+    private boolean deveEnfileirar() {
+        return offline.get() || filaOffline.tamanho() > 0;
+    }
+
+    private void enfileirarOffline(OperacaoPendente operacao) {
+        filaOffline.adicionar(operacao);
+        alteracoesOffline.set(filaOffline.tamanho());
+    }
+
+    private String textoStatus() {
+        int naFila = executor.pendentesProperty().get();
+        String texto = offline.get() ? "Offline: exibindo a cópia local"
+                : naFila == 0 ? "Sincronizado"
+                : "Sincronizando... " + naFila + " operação(ões) na fila";
+        int alteracoes = alteracoesOffline.get();
+        return alteracoes == 0 ? texto : texto + " | " + alteracoes + " alteração(ões) aguardando envio";
+    }
+
+    // Entrega o resultado (ou a falha já classificada) na thread do JavaFX
+    private static <T> void naTela(CompletableFuture<T> operacao, Consumer<T> sucesso, Consumer<TarefaApiException> falha) {
+        operacao.whenComplete((valor, erro) -> Platform.runLater(() -> {
+            if (erro == null) {
+                sucesso.accept(valor);
+            } else {
+                falha.accept(TarefaApiException.de(erro));
+            }
+        }));
+    }
+
+    // Operações sobre a mesma tarefa chegam à API na ordem em que foram feitas na tela
+    private static String chave(Tarefa tarefa) {
+        return chave(tarefa.getId());
+    }
+
+    private static String chave(Long id) {
+        return "tarefa:" + id;
+    }
+
     private void exibirAlerta(String titulo, String mensagem) {
         Platform.runLater(() -> {
             Alert alert = new Alert(Alert.AlertType.WARNING);
@@ -0,0 +1,41 @@
+package br.com.curso.listadetarefas.desktop;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Repete uma chamada à API que falhou por motivo passageiro (ver TarefaApiException.isRetentavel),
+// esperando 0,5 s, 1 s, 2 s... entre as tentativas. A variação aleatória evita que vários
+// clientes voltem todos no mesmo instante quando a API reinicia.
+// Só deve envolver operações que podem ser repetidas sem efeito duplicado.
+public final class Retentativas {
+
+    private static final int TENTATIVAS = 4;
+    private static final long ATRASO_INICIAL_MS = 500;
+
+    private Retentativas() {
+    }
+
+    public static <T> CompletableFuture<T> comBackoff(Supplier<CompletableFuture<T>> chamada) {
+        return tentar(chamada, 1);
+    }
+
+    private static <T> CompletableFuture<T> tentar(Supplier<CompletableFuture<T>> chamada, int tentativa) {
+        return chamada.get().handle((valor, erro) -> {
+            if (erro == null) {
+                return CompletableFuture.completedFuture(valor);
+            }
+            TarefaApiException falha = TarefaApiException.de(erro);
+            if (!falha.isRetentavel() || tentativa >= TENTATIVAS) {
+                return CompletableFuture.<T>failedFuture(falha);
+            }
+            long atraso = ATRASO_INICIAL_MS << (tentativa - 1);
+            atraso += ThreadLocalRandom.current().nextLong(atraso / 2 + 1);
+            Executor depois = CompletableFuture.delayedExecutor(atraso, TimeUnit.MILLISECONDS);
+            return CompletableFuture.supplyAsync(() -> tentativa + 1, depois).thenCompose(proxima -> tentar(chamada, proxima));
+        }).thenCompose(Function.identity());
+    }
+}
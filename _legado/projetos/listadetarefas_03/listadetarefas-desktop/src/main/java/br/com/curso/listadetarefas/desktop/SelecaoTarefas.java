@@ -0,0 +1,50 @@
+package br.com.curso.listadetarefas.desktop;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ids das tarefas marcadas na coluna "Sel.", guardados fora das linhas da tabela: a marcação
+ * continua valendo quando a página da tarefa sai da memória e volta a ser carregada.
+ *
+ * Os ids do servidor são sequenciais, então um BitSet os guarda com 1 bit por id (1 milhão de
+ * tarefas ≈ 125 KB). Os que não cabem nele (ids temporários negativos das tarefas criadas
+ * offline) ficam em um Set à parte. Acesso só pela thread do JavaFX.
+ */
+public class SelecaoTarefas {
+
+    private final BitSet ids = new BitSet();
+    private final Set<Long> outros = new HashSet<>();
+
+    public void marcar(Long id, boolean selecionada) {
+        if (cabeNoBitSet(id)) {
+            ids.set((int) (long) id, selecionada);
+        } else if (selecionada) {
+            outros.add(id);
+        } else {
+            outros.remove(id);
+        }
+    }
+
+    public boolean isSelecionada(Long id) {
+        return cabeNoBitSet(id) ? ids.get((int) (long) id) : outros.contains(id);
+    }
+
+    public boolean isVazia() {
+        return ids.isEmpty() && outros.isEmpty();
+    }
+
+    public List<Long> ids() {
+        List<Long> selecionadas = new ArrayList<>(ids.cardinality() + outros.size());
+        ids.stream().forEach(id -> selecionadas.add((long) id));
+        selecionadas.addAll(outros);
+        return selecionadas;
+    }
+
+    private static boolean cabeNoBitSet(Long id) {
+        return id >= 0 && id <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.curso.listadetarefas.desktop;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Junta as edições feitas em sequência rápida antes de enviá-las à API.
+ *
+ * Cada edição só fica guardada por id (a última versão da tarefa, com a 'base' de antes da primeira
+ * edição); o envio acontece quando a tela fica JANELA sem novas edições, ou no máximo ESPERA_MAXIMA
+ * depois da primeira. Marcar e desmarcar a mesma caixa dez vezes vira um único PUT com o estado final,
+ * ou nenhum, se ele for igual ao que o servidor já tem.
+ *
+ * O envio em si é de quem usa a classe ('envio' recebe base e versão final, no executor 'naTela'),
+ * para seguir o mesmo caminho de antes: fila offline, retentativas, ordem por tarefa no ExecutorTarefas.
+ */
+public class SincronizadorEdicoes {
+
+    static final Duration JANELA = Duration.ofMillis(400);
+    static final Duration ESPERA_MAXIMA = Duration.ofSeconds(2);
+
+    private final BiConsumer<Tarefa, Tarefa> envio;
+    private final Executor naTela;
+    private final Duration janela;
+    private final Duration esperaMaxima;
+    private final ScheduledExecutorService relogio = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "sincronizador-edicoes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Acesso sob 'this'
+    private final Map<Long, Edicao> pendentes = new LinkedHashMap<>();
+    private ScheduledFuture<?> envioAgendado;
+    private long primeiraEdicao;
+
+    public SincronizadorEdicoes(BiConsumer<Tarefa, Tarefa> envio, Executor naTela) {
+        this(envio, naTela, JANELA, ESPERA_MAXIMA);
+    }
+
+    SincronizadorEdicoes(BiConsumer<Tarefa, Tarefa> envio, Executor naTela, Duration janela, Duration esperaMaxima) {
+        this.envio = envio;
+        this.naTela = naTela;
+        this.janela = janela;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    // 'base' é a tarefa antes desta edição; se já havia uma edição pendente, vale a base dela
+    public synchronized void editar(Tarefa base, Tarefa editada) {
+        Edicao anterior = pendentes.get(editada.getId());
+        pendentes.put(editada.getId(), new Edicao(anterior != null ? anterior.base() : base, editada));
+
+        long agora = System.nanoTime();
+        if (envioAgendado == null) {
+            primeiraEdicao = agora;
+        } else {
+            envioAgendado.cancel(false);
+        }
+        long restante = primeiraEdicao + esperaMaxima.toNanos() - agora;
+        envioAgendado = relogio.schedule(this::enviarPendentes, Math.min(janela.toNanos(), Math.max(restante, 0)),
+                TimeUnit.NANOSECONDS);
+    }
+
+    // Há edição desta tarefa ainda não enviada: uma resposta que chegar agora já está desatualizada
+    public synchronized boolean temPendente(Long id) {
+        return pendentes.containsKey(id);
+    }
+
+    // A tarefa foi excluída: as edições pendentes dela não devem mais ir à API
+    public synchronized void descartar(Long id) {
+        pendentes.remove(id);
+    }
+
+    public void enviarPendentes() {
+        List<Edicao> lote;
+        synchronized (this) {
+            envioAgendado = null;
+            lote = new ArrayList<>(pendentes.values());
+            pendentes.clear();
+        }
+        for (Edicao edicao : lote) {
+            if (!edicao.semEfeito()) {
+                naTela.execute(() -> envio.accept(edicao.base(), edicao.editada()));
+            }
+        }
+    }
+
+    private record Edicao(Tarefa base, Tarefa editada) {
+        // Desfeita antes do envio (ex.: a caixa foi marcada e desmarcada)
+        boolean semEfeito() {
+            return Objects.equals(base.getDescricao(), editada.getDescricao()) && base.isConcluida() == editada.isConcluida();
+        }
+    }
+}
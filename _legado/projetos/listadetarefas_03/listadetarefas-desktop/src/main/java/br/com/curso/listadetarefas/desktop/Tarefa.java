@@ -1,9 +1,6 @@
 package br.com.curso.listadetarefas.desktop;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Tarefa {
@@ -11,9 +8,6 @@ public class Tarefa {
     private String descricao;
     private boolean concluida;
 
-    @JsonIgnore
-    private final BooleanProperty selecionada = new SimpleBooleanProperty(false);
-
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getDescricao() { return descricao; }
@@ -21,7 +15,12 @@ public class Tarefa {
     public boolean isConcluida() { return concluida; }
     public void setConcluida(boolean concluida) { this.concluida = concluida; }
 
-    public boolean isSelecionada() { return selecionada.get(); }
-    public BooleanProperty selecionadaProperty() { return selecionada; }
-    public void setSelecionada(boolean selecionada) { this.selecionada.set(selecionada); }
+    // Cópia para editar sem perder a versão anterior (base da detecção de conflitos offline)
+    public Tarefa copia() {
+        Tarefa copia = new Tarefa();
+        copia.setId(id);
+        copia.setDescricao(descricao);
+        copia.setConcluida(concluida);
+        return copia;
+    }
 }
\ No newline at end of file
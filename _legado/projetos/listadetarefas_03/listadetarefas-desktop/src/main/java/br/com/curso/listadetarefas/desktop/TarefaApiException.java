@@ -0,0 +1,60 @@
+package br.com.curso.listadetarefas.desktop;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+// Falha de uma chamada à API, classificada para que a tela decida se vale tentar de novo
+public class TarefaApiException extends RuntimeException {
+
+    public enum Tipo {
+        INDISPONIVEL,        // Sem conexão com a API
+        TEMPO_ESGOTADO,      // Conectou, mas a resposta não veio dentro do timeout
+        NAO_ENCONTRADA,      // 404
+        REQUISICAO_INVALIDA, // Demais 4xx
+        ERRO_SERVIDOR,       // 5xx
+        RESPOSTA_INVALIDA    // Corpo que não é o JSON esperado
+    }
+
+    private final Tipo tipo;
+    private final int status; // 0 quando não houve resposta
+
+    public TarefaApiException(Tipo tipo, int status, String mensagem, Throwable causa) {
+        super(mensagem, causa);
+        this.tipo = tipo;
+        this.status = status;
+    }
+
+    public Tipo getTipo() { return tipo; }
+    public int getStatus() { return status; }
+
+    // Falhas passageiras; 429 é o limite de requisições da API
+    public boolean isRetentavel() {
+        return tipo == Tipo.INDISPONIVEL || tipo == Tipo.TEMPO_ESGOTADO || tipo == Tipo.ERRO_SERVIDOR || status == 429;
+    }
+
+    static TarefaApiException deStatus(int status, URI uri) {
+        Tipo tipo = status == 404 ? Tipo.NAO_ENCONTRADA
+                : status >= 500 ? Tipo.ERRO_SERVIDOR
+                : Tipo.REQUISICAO_INVALIDA;
+        return new TarefaApiException(tipo, status, "API respondeu " + status + " para " + uri, null);
+    }
+
+    // Extrai a falha de um CompletableFuture; o que não veio da API é tratado como falta de conexão
+    public static TarefaApiException de(Throwable erro) {
+        while ((erro instanceof CompletionException || erro instanceof ExecutionException) && erro.getCause() != null) {
+            erro = erro.getCause();
+        }
+        if (erro instanceof TarefaApiException falha) {
+            return falha;
+        }
+        if (erro instanceof HttpTimeoutException && !(erro instanceof HttpConnectTimeoutException)) {
+            return new TarefaApiException(Tipo.TEMPO_ESGOTADO, 0, "A API não respondeu a tempo", erro);
+        }
+        String detalhe = erro instanceof ConnectException || erro instanceof HttpConnectTimeoutException ? "Não foi possível conectar à API" : "Falha na comunicação com a API";
+        return new TarefaApiException(Tipo.INDISPONIVEL, 0, detalhe, erro);
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.curso.listadetarefas.desktop;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latência e falhas das chamadas à API, por operação ("GET /api/tarefas/pagina", "PUT /api/tarefas/{id}"...).
+ *
+ * Cada operação tem dois histogramas: até a chegada dos cabeçalhos da resposta (rede + servidor) e
+ * até o corpo lido e convertido (o que a tela de fato espera). Se o primeiro é alto, a lentidão está
+ * na rede ou na API; se só o segundo, no tamanho da resposta ou no próprio cliente.
+ * As últimas chamadas lentas ficam guardadas com horário, para cruzar com os logs do servidor.
+ * O JSON de exportarJson() é o que vai anexado a um chamado de suporte.
+ */
+public class Telemetria {
+
+    static final long LIMITE_LENTA_MS = 1_000;
+    private static final int MAX_LENTAS = 50;
+
+    private final Map<String, Operacao> operacoes = new ConcurrentHashMap<>();
+    private final Deque<ChamadaLenta> lentas = new ArrayDeque<>(); // Acesso sob 'lentas'
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private volatile Instant inicio = Instant.now();
+
+    public void registrarSucesso(String operacao, long microsCabecalhos, long microsTotal) {
+        Operacao dados = operacao(operacao);
+        dados.cabecalhos.registrar(microsCabecalhos);
+        dados.total.registrar(microsTotal);
+        registrarSeLenta(operacao, microsTotal, "OK");
+    }
+
+    // 'microsTotal' até a falha; não entra nos histogramas (um timeout de 10 s distorceria os percentis)
+    public void registrarFalha(String operacao, TarefaApiException.Tipo tipo, int status, long microsTotal) {
+        operacao(operacao).erros.computeIfAbsent(tipo, t -> new LongAdder()).increment();
+        registrarSeLenta(operacao, microsTotal, status == 0 ? tipo.name() : tipo.name() + " (" + status + ")");
+    }
+
+    // Uma linha por operação, da mais chamada para a menos chamada
+    public List<ResumoOperacao> resumo() {
+        List<ResumoOperacao> resumo = new ArrayList<>();
+        operacoes.forEach((nome, dados) -> resumo.add(dados.resumir(nome)));
+        resumo.sort(Comparator.comparingLong(ResumoOperacao::chamadas).reversed());
+        return resumo;
+    }
+
+    public List<ChamadaLenta> lentas() {
+        synchronized (lentas) {
+            return new ArrayList<>(lentas);
+        }
+    }
+
+    public Instant inicio() {
+        return inicio;
+    }
+
+    public void zerar() {
+        operacoes.clear();
+        synchronized (lentas) {
+            lentas.clear();
+        }
+        inicio = Instant.now();
+    }
+
+    public String exportarJson() {
+        Map<String, Object> exportacao = new LinkedHashMap<>();
+        exportacao.put("inicio", inicio.toString());
+        exportacao.put("geradoEm", Instant.now().toString());
+        exportacao.put("java", System.getProperty("java.version"));
+        exportacao.put("sistema", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+        exportacao.put("operacoes", resumo());
+        exportacao.put("chamadasLentas", lentas());
+        try {
+            return objectMapper.writeValueAsString(exportacao);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível gerar o JSON da telemetria", e);
+        }
+    }
+
+    public void exportar(Path arquivo) throws IOException {
+        Files.writeString(arquivo, exportarJson());
+    }
+
+    private Operacao operacao(String nome) {
+        return operacoes.computeIfAbsent(nome, n -> new Operacao());
+    }
+
+    private void registrarSeLenta(String operacao, long micros, String resultado) {
+        if (micros < LIMITE_LENTA_MS * 1000) {
+            return;
+        }
+        synchronized (lentas) {
+            if (lentas.size() == MAX_LENTAS) {
+                lentas.removeFirst();
+            }
+            lentas.addLast(new ChamadaLenta(Instant.now().toString(), operacao, micros / 1000.0, resultado));
+        }
+    }
+
+    private static class Operacao {
+        final HistogramaLatencia cabecalhos = new HistogramaLatencia();
+        final HistogramaLatencia total = new HistogramaLatencia();
+        final Map<TarefaApiException.Tipo, LongAdder> erros = new ConcurrentHashMap<>();
+
+        ResumoOperacao resumir(String nome) {
+            Map<TarefaApiException.Tipo, Long> porTipo = new EnumMap<>(TarefaApiException.Tipo.class);
+            erros.forEach((tipo, contagem) -> porTipo.put(tipo, contagem.sum()));
+            long falhas = porTipo.values().stream().mapToLong(Long::longValue).sum();
+            return new ResumoOperacao(nome, total.quantidade() + falhas, falhas, porTipo,
+                    total.percentilMs(0.50), total.percentilMs(0.95), total.percentilMs(0.99), total.maximoMs(),
+                    cabecalhos.percentilMs(0.95));
+        }
+    }
+
+    // Tempos em ms; os percentis são só das chamadas que deram certo
+    public record ResumoOperacao(String operacao, long chamadas, long falhas, Map<TarefaApiException.Tipo, Long> falhasPorTipo,
+                                 double p50Ms, double p95Ms, double p99Ms, double maximoMs, double p95CabecalhosMs) {
+    }
+
+    public record ChamadaLenta(String quando, String operacao, double ms, String resultado) {
+    }
+}
@@ -0,0 +1,189 @@
+package br.com.curso.listadetarefas.desktop;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Reconcilia a fila contra um servidor HTTP local que, como a API, recusa (400) uma chave de
+// idempotência repetida com outro corpo
+class FilaOfflineTest {
+
+    @TempDir
+    Path pasta;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, Tarefa> noServidor = new ConcurrentHashMap<>();
+    private final Map<String, String> corposPorChave = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsPorChave = new ConcurrentHashMap<>();
+    private final List<String> requisicoes = new CopyOnWriteArrayList<>();
+    private final AtomicLong ultimoId = new AtomicLong(6);
+    private final CountDownLatch postRecebido = new CountDownLatch(1);
+    private volatile CountDownLatch liberarPost = new CountDownLatch(0);
+    private final AtomicBoolean perderRespostaDoPost = new AtomicBoolean();
+
+    private HttpServer servidor;
+    private TarefaApiService api;
+
+    @BeforeEach
+    void iniciarServidor() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/api/tarefas", this::responder);
+        servidor.start();
+        api = new TarefaApiService("http://localhost:" + servidor.getAddress().getPort() + "/api/tarefas");
+    }
+
+    @AfterEach
+    void pararServidor() {
+        servidor.stop(0);
+    }
+
+    @Test
+    void edicaoDuranteACriacao_ViraAtualizacaoDoIdReal() throws Exception {
+        liberarPost = new CountDownLatch(1);
+        FilaOffline fila = new FilaOffline(new CacheLocal(pasta));
+        Tarefa criada = criarOffline(fila, "Comprar pão");
+
+        CompletableFuture<List<String>> reconciliacao = fila.reconciliar(api);
+        assertTrue(postRecebido.await(5, TimeUnit.SECONDS));
+        Tarefa editada = criada.copia();
+        editada.setDescricao("Comprar pão integral");
+        fila.adicionar(OperacaoPendente.atualizar(criada, editada));
+        liberarPost.countDown();
+
+        assertEquals(List.of(), reconciliacao.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("POST /api/tarefas", "GET /api/tarefas/7", "PUT /api/tarefas/7"), requisicoes);
+        assertEquals("Comprar pão integral", noServidor.get(7L).getDescricao());
+        assertEquals(1, noServidor.size());
+        assertEquals(0, fila.tamanho());
+        assertEquals(0, new FilaOffline(new CacheLocal(pasta)).tamanho()); // Nada sobrou no disco
+    }
+
+    @Test
+    void exclusaoDuranteACriacao_NaoSePerde() throws Exception {
+        liberarPost = new CountDownLatch(1);
+        FilaOffline fila = new FilaOffline(new CacheLocal(pasta));
+        Tarefa criada = criarOffline(fila, "Rascunho");
+
+        CompletableFuture<List<String>> reconciliacao = fila.reconciliar(api);
+        assertTrue(postRecebido.await(5, TimeUnit.SECONDS));
+        fila.adicionar(OperacaoPendente.excluir(criada));
+        liberarPost.countDown();
+
+        assertEquals(List.of(), reconciliacao.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("POST /api/tarefas", "GET /api/tarefas/7", "DELETE /api/tarefas/7"), requisicoes);
+        assertTrue(noServidor.isEmpty());
+        assertEquals(0, fila.tamanho());
+    }
+
+    @Test
+    void criacaoQueChegouAoServidor_EdicaoNaoMudaOReenvio() throws Exception {
+        perderRespostaDoPost.set(true);
+        FilaOffline fila = new FilaOffline(new CacheLocal(pasta));
+        Tarefa criada = criarOffline(fila, "Pagar conta");
+
+        ExecutionException falha = assertThrows(ExecutionException.class, () -> fila.reconciliar(api).get(5, TimeUnit.SECONDS));
+        assertTrue(TarefaApiException.de(falha).isRetentavel());
+
+        // Editada depois da falha, e com a fila relida do disco (o aplicativo foi reaberto)
+        FilaOffline reaberta = new FilaOffline(new CacheLocal(pasta));
+        Tarefa editada = criada.copia();
+        editada.setConcluida(true);
+        reaberta.adicionar(OperacaoPendente.atualizar(criada, editada));
+
+        assertEquals(List.of(), reaberta.reconciliar(api).get(5, TimeUnit.SECONDS));
+        assertEquals(1, noServidor.size());
+        assertTrue(noServidor.get(7L).isConcluida());
+        assertEquals(0, reaberta.tamanho());
+    }
+
+    private Tarefa criarOffline(FilaOffline fila, String descricao) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(fila.novoIdTemporario());
+        tarefa.setDescricao(descricao);
+        fila.adicionar(OperacaoPendente.criar(tarefa, "chave-" + descricao.hashCode()));
+        return tarefa;
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        String caminho = troca.getRequestURI().getPath();
+        String corpo = new String(troca.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        requisicoes.add(troca.getRequestMethod() + " " + caminho);
+        switch (troca.getRequestMethod()) {
+            case "POST" -> {
+                postRecebido.countDown();
+                aguardar(liberarPost);
+                String chave = troca.getRequestHeaders().getFirst("Idempotency-Key");
+                if (corposPorChave.containsKey(chave)) {
+                    if (!corposPorChave.get(chave).equals(corpo)) {
+                        responder(troca, 400, null);
+                    } else {
+                        responder(troca, 201, noServidor.get(idsPorChave.get(chave)));
+                    }
+                    return;
+                }
+                Tarefa nova = objectMapper.readValue(corpo, Tarefa.class);
+                nova.setId(ultimoId.incrementAndGet());
+                noServidor.put(nova.getId(), nova);
+                corposPorChave.put(chave, corpo);
+                idsPorChave.put(chave, nova.getId());
+                // A tarefa foi criada, mas a resposta não chega ao cliente
+                responder(troca, perderRespostaDoPost.getAndSet(false) ? 503 : 201, nova);
+            }
+            case "PUT" -> {
+                Tarefa tarefa = objectMapper.readValue(corpo, Tarefa.class);
+                noServidor.put(tarefa.getId(), tarefa);
+                responder(troca, 200, tarefa);
+            }
+            case "DELETE" -> responder(troca, noServidor.remove(id(caminho)) != null ? 204 : 404, null);
+            default -> {
+                Tarefa tarefa = noServidor.get(id(caminho));
+                responder(troca, tarefa != null ? 200 : 404, tarefa);
+            }
+        }
+    }
+
+    private void responder(HttpExchange troca, int status, Tarefa tarefa) throws IOException {
+        if (tarefa == null) {
+            troca.sendResponseHeaders(status, -1);
+        } else {
+            byte[] json = objectMapper.writeValueAsBytes(tarefa);
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            troca.sendResponseHeaders(status, json.length);
+            troca.getResponseBody().write(json);
+        }
+        troca.close();
+    }
+
+    private static Long id(String caminho) {
+        return Long.valueOf(caminho.substring(caminho.lastIndexOf('/') + 1));
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
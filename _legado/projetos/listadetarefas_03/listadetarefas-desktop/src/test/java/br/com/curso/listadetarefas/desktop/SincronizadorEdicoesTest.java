@@ -0,0 +1,122 @@
+package br.com.curso.listadetarefas.desktop;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Edita tarefas em sequência rápida e conta os PUTs que chegam a um servidor HTTP local
+class SincronizadorEdicoesTest {
+
+    private HttpServer servidor;
+    private final List<String> puts = new CopyOnWriteArrayList<>();
+    private TarefaApiService api;
+
+    @BeforeEach
+    void iniciarServidor() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/api/tarefas", troca -> {
+            byte[] corpo = troca.getRequestBody().readAllBytes();
+            if (troca.getRequestMethod().equals("PUT")) {
+                puts.add(troca.getRequestURI().getPath() + " " + new String(corpo, StandardCharsets.UTF_8));
+            }
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, corpo.length);
+            troca.getResponseBody().write(corpo); // Devolve a tarefa como recebida
+            troca.close();
+        });
+        servidor.start();
+        api = new TarefaApiService("http://localhost:" + servidor.getAddress().getPort() + "/api/tarefas");
+    }
+
+    @AfterEach
+    void pararServidor() {
+        servidor.stop(0);
+    }
+
+    @Test
+    void editar_CliquesRapidosViramUmPutComOEstadoFinal() throws Exception {
+        SincronizadorEdicoes edicoes = novoSincronizador(Duration.ofMillis(100), Duration.ofSeconds(5));
+        Tarefa primeira = tarefa(1L, false);
+        Tarefa segunda = tarefa(2L, false);
+
+        Tarefa atual = primeira;
+        for (int i = 0; i < 21; i++) { // Número ímpar: termina marcada
+            atual = alternar(edicoes, atual);
+        }
+        alternar(edicoes, alternar(edicoes, segunda)); // Marcada e desmarcada: nada a enviar
+
+        aguardarPuts(1);
+        Thread.sleep(300); // Nenhum envio atrasado
+        assertEquals(1, puts.size(), puts.toString());
+        assertTrue(puts.get(0).startsWith("/api/tarefas/1 "));
+        assertTrue(puts.get(0).contains("\"concluida\":true"));
+    }
+
+    @Test
+    void editar_EdicoesSemPausaAindaSaoEnviadasAposAEsperaMaxima() throws Exception {
+        SincronizadorEdicoes edicoes = novoSincronizador(Duration.ofMillis(200), Duration.ofMillis(300));
+        Tarefa atual = tarefa(1L, false);
+
+        // Um clique a cada 20 ms, cada um com uma descrição nova (nenhum lote volta ao estado anterior):
+        // a janela de 200 ms nunca fecha, então só a espera máxima pode enviar algo durante os cliques
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        int cliques = 0;
+        while (puts.isEmpty() && System.nanoTime() < limite) {
+            atual = renomear(edicoes, atual, "Edição " + ++cliques);
+            Thread.sleep(20);
+        }
+        assertEquals(1, puts.size(), "A espera máxima deveria forçar um envio durante os cliques");
+        assertTrue(cliques > 1, "O primeiro envio deveria juntar vários cliques");
+
+        // O que foi editado depois do primeiro envio sai em um segundo PUT, quando a janela fecha
+        renomear(edicoes, atual, "Edição final");
+        aguardarPuts(2);
+        Thread.sleep(300); // Nenhum envio atrasado
+        assertEquals(2, puts.size(), puts.toString());
+        assertTrue(puts.get(1).contains("\"descricao\":\"Edição final\""), puts.get(1));
+    }
+
+    private SincronizadorEdicoes novoSincronizador(Duration janela, Duration esperaMaxima) {
+        return new SincronizadorEdicoes((base, editada) -> api.atualizarTarefa(editada), Runnable::run, janela, esperaMaxima);
+    }
+
+    // O que a tela faz ao clicar na caixa: edita uma cópia e entrega ao sincronizador
+    private static Tarefa alternar(SincronizadorEdicoes edicoes, Tarefa atual) {
+        Tarefa editada = atual.copia();
+        editada.setConcluida(!atual.isConcluida());
+        edicoes.editar(atual, editada);
+        return editada;
+    }
+
+    private static Tarefa renomear(SincronizadorEdicoes edicoes, Tarefa atual, String descricao) {
+        Tarefa editada = atual.copia();
+        editada.setDescricao(descricao);
+        edicoes.editar(atual, editada);
+        return editada;
+    }
+
+    private void aguardarPuts(int quantidade) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (puts.size() < quantidade && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Tarefa tarefa(Long id, boolean concluida) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(id);
+        tarefa.setDescricao("Tarefa " + id);
+        tarefa.setConcluida(concluida);
+        return tarefa;
+    }
+}
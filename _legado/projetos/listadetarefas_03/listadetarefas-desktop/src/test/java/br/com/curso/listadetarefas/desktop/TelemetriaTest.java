@@ -0,0 +1,63 @@
+package br.com.curso.listadetarefas.desktop;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetriaTest {
+
+    @Test
+    void percentilMs_FicaDentroDoErroDaFaixa() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (long ms = 1; ms <= 10_000; ms++) {
+            histograma.registrar(ms * 1000);
+        }
+
+        assertEquals(10_000, histograma.quantidade());
+        assertEquals(5_000, histograma.percentilMs(0.50), 5_000 * 0.125);
+        assertEquals(9_900, histograma.percentilMs(0.99), 9_900 * 0.125);
+        assertEquals(10_000, histograma.maximoMs());
+        assertEquals(5_000.5, histograma.mediaMs(), 0.001);
+        assertEquals(0, new HistogramaLatencia().percentilMs(0.95));
+    }
+
+    @Test
+    void enviar_RegistraLatenciaEFalhasPorEndpoint() throws Exception {
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/api/tarefas", troca -> {
+            boolean existe = troca.getRequestURI().getPath().endsWith("/7");
+            byte[] corpo = (existe ? "{\"id\":7,\"descricao\":\"Sete\"}" : "").getBytes(StandardCharsets.UTF_8);
+            troca.sendResponseHeaders(existe ? 200 : 404, existe ? corpo.length : -1);
+            troca.getResponseBody().write(corpo);
+            troca.close();
+        });
+        servidor.start();
+        try {
+            TarefaApiService api = new TarefaApiService("http://localhost:" + servidor.getAddress().getPort() + "/api/tarefas");
+
+            assertTrue(api.buscarTarefa(7L).get().isPresent());
+            assertTrue(api.buscarTarefa(8L).get().isEmpty());
+
+            List<Telemetria.ResumoOperacao> resumo = api.getTelemetria().resumo();
+            assertEquals(1, resumo.size()); // Os dois ids caem no mesmo endpoint
+            Telemetria.ResumoOperacao buscar = resumo.get(0);
+            assertEquals("GET /api/tarefas/{id}", buscar.operacao());
+            assertEquals(2, buscar.chamadas());
+            assertEquals(1L, buscar.falhasPorTipo().get(TarefaApiException.Tipo.NAO_ENCONTRADA));
+            assertTrue(buscar.p50Ms() > 0);
+
+            JsonNode exportado = new ObjectMapper().readTree(api.getTelemetria().exportarJson());
+            assertEquals("GET /api/tarefas/{id}", exportado.path("operacoes").get(0).path("operacao").asText());
+            assertTrue(exportado.has("chamadasLentas"));
+        } finally {
+            servidor.stop(0);
+        }
+    }
+}
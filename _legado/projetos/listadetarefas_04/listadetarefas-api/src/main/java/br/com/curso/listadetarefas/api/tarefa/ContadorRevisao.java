@@ -0,0 +1,31 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Linha única com a última revisão entregue. Quem grava trava a linha até o commit,
+// então as revisões são confirmadas na mesma ordem em que são atribuídas.
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "tb_contador_revisao")
+public class ContadorRevisao {
+    static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long valor;
+
+    public ContadorRevisao(Long valor) {
+        this.id = ID;
+        this.valor = valor;
+    }
+
+    public long proxima() {
+        valor++;
+        return valor;
+    }
+}
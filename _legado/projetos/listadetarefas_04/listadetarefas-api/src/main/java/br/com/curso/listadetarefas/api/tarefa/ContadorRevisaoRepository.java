@@ -0,0 +1,18 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import java.util.Optional;
+
+public interface ContadorRevisaoRepository extends JpaRepository<ContadorRevisao, Integer> {
+    // SELECT ... FOR UPDATE: a próxima transação que grava espera esta confirmar
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from ContadorRevisao c where c.id = " + ContadorRevisao.ID)
+    Optional<ContadorRevisao> travar();
+
+    // Leitura sem trava: devolve a última revisão já confirmada
+    @Query("select c.valor from ContadorRevisao c where c.id = " + ContadorRevisao.ID)
+    Optional<Long> buscarConfirmada();
+}
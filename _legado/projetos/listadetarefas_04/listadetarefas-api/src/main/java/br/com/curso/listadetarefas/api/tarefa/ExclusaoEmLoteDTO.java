@@ -0,0 +1,14 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExclusaoEmLoteDTO {
+    // Ids removidos nesta chamada
+    private List<Long> excluidas;
+    // Ids pedidos que não existiam (já excluídos por outro cliente, por exemplo)
+    private List<Long> naoEncontradas;
+}
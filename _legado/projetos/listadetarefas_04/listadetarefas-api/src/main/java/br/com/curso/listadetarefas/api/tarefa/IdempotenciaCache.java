@@ -0,0 +1,75 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Respostas de POST /api/tarefas guardadas por Idempotency-Key: um reenvio com a mesma chave
+ * (ex.: o cliente desktop repetindo após um timeout) recebe a tarefa já criada em vez de inserir outra.
+ *
+ * As chaves ficam em um cache limitado a 'capacidade' entradas e expiram após 'validade-horas'.
+ * Fica só em memória: esta API roda em um único processo, com H2 em memória.
+ */
+@Component
+public class IdempotenciaCache {
+
+    static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    private final Cache<String, Entrada> entradas;
+
+    // A criação fica em um CompletableFuture para que um reenvio simultâneo espere a original
+    private record Entrada(String impressao, CompletableFuture<Tarefa> resposta) {
+    }
+
+    public IdempotenciaCache(@Value("${tarefas.idempotencia.capacidade:10000}") long capacidade,
+                             @Value("${tarefas.idempotencia.validade-horas:24}") long validadeHoras) {
+        entradas = Caffeine.newBuilder()
+                .maximumSize(capacidade)
+                .expireAfterWrite(Duration.ofHours(validadeHoras))
+                .build();
+    }
+
+    public Tarefa criar(String chave, Tarefa pedido, Supplier<Tarefa> criacao) {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException("A Idempotency-Key deve ter de 1 a " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+        }
+        String impressao = pedido.getDescricao() + "|" + pedido.isConcluida();
+        Entrada nova = new Entrada(impressao, new CompletableFuture<>());
+        Entrada existente = entradas.asMap().putIfAbsent(chave, nova);
+
+        if (existente != null) {
+            if (!Objects.equals(existente.impressao(), impressao)) {
+                throw new IllegalArgumentException("A Idempotency-Key já foi usada em outra requisição.");
+            }
+            return copia(existente.resposta().join());
+        }
+
+        try {
+            Tarefa criada = criacao.get();
+            nova.resposta().complete(copia(criada));
+            return criada;
+        } catch (RuntimeException e) {
+            // Falhas não são memorizadas: o próximo reenvio tenta criar de novo
+            entradas.asMap().remove(chave, nova);
+            nova.resposta().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // A tarefa guardada não pode ser alterada por quem recebeu a resposta
+    private static Tarefa copia(Tarefa tarefa) {
+        Tarefa copia = new Tarefa();
+        copia.setId(tarefa.getId());
+        copia.setDescricao(tarefa.getDescricao());
+        copia.setConcluida(tarefa.isConcluida());
+        copia.setRevisao(tarefa.getRevisao());
+        return copia;
+    }
+}
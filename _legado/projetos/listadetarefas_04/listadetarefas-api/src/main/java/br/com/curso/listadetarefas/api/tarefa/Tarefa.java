@@ -5,11 +5,15 @@ import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "tb_tarefas")
+@Table(name = "tb_tarefas", indexes = @Index(name = "idx_tb_tarefas_revisao", columnList = "revisao"))
 public class Tarefa {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String descricao;
     private boolean concluida;
-}
\ No newline at end of file
+
+    // Revisão global atribuída a cada inserção/atualização (usada pelo /changes)
+    @Column(nullable = false)
+    private Long revisao;
+}
@@ -0,0 +1,16 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TarefaAlteracoesDTO {
+    // Revisão a ser enviada no próximo GET /api/tarefas/changes?since=
+    private long revisao;
+    // Tarefas criadas ou atualizadas depois de 'since'
+    private List<Tarefa> alteradas;
+    // Ids das tarefas excluídas depois de 'since'
+    private List<Long> removidas;
+}
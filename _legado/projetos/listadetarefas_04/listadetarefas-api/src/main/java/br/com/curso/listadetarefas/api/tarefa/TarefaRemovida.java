@@ -0,0 +1,23 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// "Lápide" de uma tarefa excluída, para que os clientes saibam o que remover na sincronização.
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "tb_tarefas_removidas", indexes = @Index(name = "idx_tb_tarefas_removidas_revisao", columnList = "revisao"))
+public class TarefaRemovida {
+    @Id
+    private Long id; // Mesmo id da tarefa excluída
+
+    @Column(nullable = false)
+    private Long revisao;
+
+    public TarefaRemovida(Long id, Long revisao) {
+        this.id = id;
+        this.revisao = revisao;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.List;
+
+public interface TarefaRemovidaRepository extends JpaRepository<TarefaRemovida, Long> {
+    List<TarefaRemovida> findByRevisaoGreaterThanOrderByRevisao(Long revisao);
+
+    @Query("select coalesce(max(r.revisao), 0) from TarefaRemovida r")
+    Long findMaxRevisao();
+}
@@ -1,6 +1,13 @@
 package br.com.curso.listadetarefas.api.tarefa;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.List;
 
 public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
-}
\ No newline at end of file
+    // Usa o índice em 'revisao': o custo é proporcional ao que mudou, não ao tamanho da lista
+    List<Tarefa> findByRevisaoGreaterThanOrderByRevisao(Long revisao);
+
+    @Query("select coalesce(max(t.revisao), 0) from Tarefa t")
+    Long findMaxRevisao();
+}
@@ -1,32 +1,118 @@
 package br.com.curso.listadetarefas.api.tarefa;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TarefaService {
     @Autowired
     private TarefaRepository tarefaRepository;
+    @Autowired
+    private TarefaRemovidaRepository tarefaRemovidaRepository;
+    @Autowired
+    private ContadorRevisaoRepository contadorRevisaoRepository;
+
+    // O contador de revisões fica no banco, compartilhado por inserções, atualizações e exclusões
+    // de todas as instâncias da API; na primeira subida parte da maior revisão já gravada.
+    @PostConstruct
+    void criarContadorRevisao() {
+        if (contadorRevisaoRepository.existsById(ContadorRevisao.ID)) {
+            return;
+        }
+        try {
+            contadorRevisaoRepository.save(new ContadorRevisao(
+                    Math.max(tarefaRepository.findMaxRevisao(), tarefaRemovidaRepository.findMaxRevisao())));
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância criou o contador ao mesmo tempo
+        }
+    }
 
     public List<Tarefa> listarTodas() { return tarefaRepository.findAll(); }
-    public Tarefa criar(Tarefa tarefa) { return tarefaRepository.save(tarefa); }
+
+    // Página 'pagina' (a partir de 0) em ordem de id, com o total para o cliente dimensionar a lista
+    @Transactional(readOnly = true)
+    public PaginaTarefasDTO listarPagina(int pagina, int tamanho) {
+        if (pagina < 0 || tamanho < 1 || tamanho > 500) {
+            throw new IllegalArgumentException("A página deve ser >= 0 e o tamanho entre 1 e 500.");
+        }
+        List<Tarefa> tarefas = tarefaRepository.findAll(PageRequest.of(pagina, tamanho, Sort.by("id"))).getContent();
+        return new PaginaTarefasDTO(tarefaRepository.count(), tarefas);
+    }
+
+    public Optional<Tarefa> buscarPorId(Long id) { return tarefaRepository.findById(id); }
+
+    @Transactional
+    public Tarefa criar(Tarefa tarefa) {
+        tarefa.setRevisao(travarContador().proxima());
+        return tarefaRepository.save(tarefa);
+    }
+
+    @Transactional
     public void deletar(Long id) {
         if (!tarefaRepository.existsById(id)) {
             throw new RuntimeException("Tarefa não encontrada com o id: " + id);
         }
         tarefaRepository.deleteById(id);
+        tarefaRemovidaRepository.save(new TarefaRemovida(id, travarContador().proxima()));
+    }
+
+    // Um SELECT ... IN e um DELETE ... IN para o lote todo, com uma lápide por tarefa excluída
+    @Transactional
+    public ExclusaoEmLoteDTO deletarEmLote(List<Long> ids) {
+        if (ids.size() > 500) {
+            throw new IllegalArgumentException("No máximo 500 tarefas por exclusão em lote.");
+        }
+        List<Tarefa> existentes = tarefaRepository.findAllById(ids);
+        tarefaRepository.deleteAllInBatch(existentes);
+        ContadorRevisao contador = travarContador();
+        tarefaRemovidaRepository.saveAll(existentes.stream()
+                .map(tarefa -> new TarefaRemovida(tarefa.getId(), contador.proxima()))
+                .toList());
+
+        List<Long> excluidas = existentes.stream().map(Tarefa::getId).toList();
+        Set<Long> removidas = new HashSet<>(excluidas);
+        return new ExclusaoEmLoteDTO(excluidas, ids.stream().filter(id -> !removidas.contains(id)).toList());
     }
 
     // --- MODIFICAÇÃO NESTE MÉTODO ---
+    @Transactional
     public Tarefa atualizar(Long id, TarefaUpdateDTO tarefaDTO) {
         return tarefaRepository.findById(id)
                 .map(tarefaExistente -> {
                     // Atualiza a entidade existente APENAS com os dados do DTO
                     tarefaExistente.setDescricao(tarefaDTO.getDescricao());
                     tarefaExistente.setConcluida(tarefaDTO.isConcluida());
+                    tarefaExistente.setRevisao(travarContador().proxima());
                     // Salva a entidade atualizada
                     return tarefaRepository.save(tarefaExistente);
                 }).orElseThrow(() -> new RuntimeException("Tarefa não encontrada: " + id));
     }
-}
\ No newline at end of file
+
+    // Retorna apenas o que mudou depois da revisão informada pelo cliente.
+    // A revisão devolvida é a do contador lida ANTES das consultas, não a maior encontrada: tudo até ela
+    // já foi confirmado e aparece nas consultas. O que for confirmado no meio pode vir junto e vem de novo
+    // na próxima chamada (o cliente só sobrescreve), mas nada com revisão menor fica para trás.
+    @Transactional(readOnly = true)
+    public TarefaAlteracoesDTO listarAlteracoes(long desde) {
+        long confirmada = contadorRevisaoRepository.buscarConfirmada().orElse(0L);
+        List<Tarefa> alteradas = tarefaRepository.findByRevisaoGreaterThanOrderByRevisao(desde);
+        List<TarefaRemovida> removidas = tarefaRemovidaRepository.findByRevisaoGreaterThanOrderByRevisao(desde);
+        return new TarefaAlteracoesDTO(Math.max(desde, confirmada), alteradas,
+                removidas.stream().map(TarefaRemovida::getId).toList());
+    }
+
+    // Deve ser chamado dentro da transação que grava: a trava só é liberada no commit
+    private ContadorRevisao travarContador() {
+        return contadorRevisaoRepository.travar()
+                .orElseThrow(() -> new IllegalStateException("Contador de revisões não inicializado"));
+    }
+}
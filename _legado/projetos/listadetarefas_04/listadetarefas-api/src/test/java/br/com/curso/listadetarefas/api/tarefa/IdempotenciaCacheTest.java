@@ -0,0 +1,52 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotenciaCacheTest {
+
+    private final IdempotenciaCache cache = new IdempotenciaCache(100, 24);
+    private final AtomicLong criacoes = new AtomicLong();
+
+    @Test
+    void criar_MesmaChave_NaoCriaDeNovo() {
+        Tarefa primeira = cache.criar("k1", nova("Pagar aluguel"), () -> criar(nova("Pagar aluguel")));
+        Tarefa repetida = cache.criar("k1", nova("Pagar aluguel"), () -> criar(nova("Pagar aluguel")));
+
+        assertEquals(1, criacoes.get());
+        assertEquals(primeira, repetida);
+        assertThrows(IllegalArgumentException.class,
+                () -> cache.criar("k1", nova("Outra coisa"), () -> criar(nova("Outra coisa"))));
+    }
+
+    @Test
+    void criar_FalhaNaoEMemorizada() {
+        assertThrows(IllegalStateException.class, () -> cache.criar("k2", nova("Tarefa"), () -> {
+            throw new IllegalStateException("banco indisponível");
+        }));
+
+        cache.criar("k2", nova("Tarefa"), () -> criar(nova("Tarefa")));
+        assertEquals(1, criacoes.get());
+    }
+
+    @Test
+    void criar_ChaveInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> cache.criar("", nova("Tarefa"), () -> criar(nova("Tarefa"))));
+        assertThrows(IllegalArgumentException.class, () -> cache.criar("x".repeat(101), nova("Tarefa"), () -> criar(nova("Tarefa"))));
+        assertEquals(0, criacoes.get());
+    }
+
+    private Tarefa criar(Tarefa tarefa) {
+        tarefa.setId(criacoes.incrementAndGet());
+        return tarefa;
+    }
+
+    private static Tarefa nova(String descricao) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setDescricao(descricao);
+        return tarefa;
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.curso.listadetarefas.api.tarefa;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TarefaServiceTest {
+
+    @Autowired
+    private TarefaService tarefaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void listarAlteracoes_RetornaApenasOQueMudouDepoisDaRevisao() {
+        Tarefa inalterada = tarefaService.criar(novaTarefa("Inalterada"));
+        Tarefa editada = tarefaService.criar(novaTarefa("Editada"));
+        Tarefa excluida = tarefaService.criar(novaTarefa("Excluída"));
+        long revisaoDoCliente = tarefaService.listarAlteracoes(0).getRevisao();
+
+        TarefaUpdateDTO dto = new TarefaUpdateDTO();
+        dto.setDescricao("Editada de novo");
+        dto.setConcluida(true);
+        tarefaService.atualizar(editada.getId(), dto);
+        tarefaService.deletar(excluida.getId());
+
+        TarefaAlteracoesDTO alteracoes = tarefaService.listarAlteracoes(revisaoDoCliente);
+
+        assertEquals(1, alteracoes.getAlteradas().size());
+        assertEquals(editada.getId(), alteracoes.getAlteradas().get(0).getId());
+        assertEquals(List.of(excluida.getId()), alteracoes.getRemovidas());
+        assertTrue(alteracoes.getRevisao() > revisaoDoCliente);
+        assertTrue(alteracoes.getAlteradas().stream().noneMatch(t -> t.getId().equals(inalterada.getId())));
+
+        // Nada mudou desde a última revisão
+        TarefaAlteracoesDTO vazia = tarefaService.listarAlteracoes(alteracoes.getRevisao());
+        assertTrue(vazia.getAlteradas().isEmpty());
+        assertTrue(vazia.getRemovidas().isEmpty());
+        assertEquals(alteracoes.getRevisao(), vazia.getRevisao());
+    }
+
+    @Test
+    void listarAlteracoes_NaoPassaDeUmaGravacaoAindaNaoConfirmada() throws Exception {
+        CountDownLatch gravou = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        CompletableFuture<Tarefa> emAndamento = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Tarefa tarefa = tarefaService.criar(novaTarefa("Confirmada depois"));
+            gravou.countDown();
+            aguardar(confirmar);
+            return tarefa;
+        }));
+        assertTrue(gravou.await(5, TimeUnit.SECONDS));
+
+        // O cliente sincroniza enquanto a criação ainda não foi confirmada
+        long revisaoDoCliente = tarefaService.listarAlteracoes(0).getRevisao();
+        confirmar.countDown();
+        Tarefa criada = emAndamento.get(5, TimeUnit.SECONDS);
+
+        assertTrue(revisaoDoCliente < criada.getRevisao());
+        assertTrue(tarefaService.listarAlteracoes(revisaoDoCliente).getAlteradas().stream()
+                .anyMatch(t -> t.getId().equals(criada.getId())));
+    }
+
+    @Test
+    void deletarEmLote_ExcluiOsExistentesERegistraLapides() {
+        Tarefa primeira = tarefaService.criar(novaTarefa("Primeira"));
+        Tarefa segunda = tarefaService.criar(novaTarefa("Segunda"));
+        long revisaoDoCliente = tarefaService.listarAlteracoes(0).getRevisao();
+
+        ExclusaoEmLoteDTO resultado = tarefaService.deletarEmLote(List.of(primeira.getId(), segunda.getId(), -1L));
+
+        assertEquals(2, resultado.getExcluidas().size());
+        assertEquals(List.of(-1L), resultado.getNaoEncontradas());
+        // Outros clientes ficam sabendo das exclusões pela sincronização incremental
+        assertTrue(tarefaService.listarAlteracoes(revisaoDoCliente).getRemovidas()
+                .containsAll(List.of(primeira.getId(), segunda.getId())));
+
+        // Como listarPagina, o lote tem tamanho máximo
+        List<Long> grande = LongStream.rangeClosed(1, 501).boxed().toList();
+        assertThrows(IllegalArgumentException.class, () -> tarefaService.deletarEmLote(grande));
+    }
+
+    @Test
+    void listarPagina_DevolveOTotalEAsTarefasEmOrdemDeId() {
+        for (int i = 1; i <= 3; i++) {
+            tarefaService.criar(novaTarefa("Paginada " + i));
+        }
+
+        PaginaTarefasDTO pagina = tarefaService.listarPagina(0, 2);
+
+        assertEquals(tarefaService.listarTodas().size(), pagina.getTotal());
+        assertEquals(2, pagina.getTarefas().size());
+        assertTrue(pagina.getTarefas().get(0).getId() < pagina.getTarefas().get(1).getId());
+        assertThrows(IllegalArgumentException.class, () -> tarefaService.listarPagina(0, 501));
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Tarefa novaTarefa(String descricao) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setDescricao(descricao);
+        return tarefa;
+    }
+}
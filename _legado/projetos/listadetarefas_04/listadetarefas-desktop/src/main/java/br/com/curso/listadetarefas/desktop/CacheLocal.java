@@ -0,0 +1,88 @@
+package br.com.curso.listadetarefas.desktop;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cópia local das tarefas e da fila de alterações feitas sem conexão, em JSON na pasta do usuário
+ * (~/.listadetarefas, ou a propriedade de sistema 'listadetarefas.dados').
+ *
+ * A tela lê a cópia na inicialização, antes de qualquer chamada à API, então a lista aparece mesmo
+ * com a API lenta ou fora do ar. Cada arquivo é escrito em um temporário e movido por cima do
+ * anterior, então uma queda no meio da gravação não deixa um arquivo pela metade.
+ */
+public class CacheLocal {
+
+    private final Path tarefasArquivo;
+    private final Path pendentesArquivo;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // A tabela muda a cada operação; só a versão mais recente pendente é gravada
+    private final AtomicReference<List<Tarefa>> proximaGravacao = new AtomicReference<>();
+    private final ExecutorService gravador = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "cache-local");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CacheLocal() {
+        this(Path.of(System.getProperty("listadetarefas.dados", System.getProperty("user.home") + "/.listadetarefas")));
+    }
+
+    public CacheLocal(Path pasta) {
+        this.tarefasArquivo = pasta.resolve("tarefas.json");
+        this.pendentesArquivo = pasta.resolve("pendentes.json");
+    }
+
+    // Arquivo ausente ou corrompido é tratado como cache vazio: a API continua sendo a fonte da verdade
+    public List<Tarefa> carregarTarefas() {
+        return ler(tarefasArquivo, new TypeReference<List<Tarefa>>() {});
+    }
+
+    public void salvarTarefas(List<Tarefa> tarefas) {
+        if (proximaGravacao.getAndSet(new ArrayList<>(tarefas)) == null) {
+            gravador.execute(() -> gravar(tarefasArquivo, proximaGravacao.getAndSet(null)));
+        }
+    }
+
+    public List<OperacaoPendente> carregarPendentes() {
+        return ler(pendentesArquivo, new TypeReference<List<OperacaoPendente>>() {});
+    }
+
+    // Síncrono: uma alteração feita sem conexão só é dada como aceita depois de estar no disco
+    public void salvarPendentes(List<OperacaoPendente> pendentes) {
+        gravar(pendentesArquivo, pendentes);
+    }
+
+    private <T> List<T> ler(Path arquivo, TypeReference<List<T>> tipo) {
+        if (!Files.exists(arquivo)) {
+            return new ArrayList<>();
+        }
+        try {
+            return objectMapper.readValue(arquivo.toFile(), tipo);
+        } catch (IOException e) {
+            System.err.println("Cache local ignorado (" + arquivo + "): " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private void gravar(Path arquivo, Object conteudo) {
+        try {
+            Files.createDirectories(arquivo.getParent());
+            Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+            objectMapper.writeValue(temporario.toFile(), conteudo);
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Não foi possível gravar o cache local (" + arquivo + "): " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.curso.listadetarefas.desktop;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Janela "Diagnóstico": latência por endpoint da API medida pelo próprio cliente, atualizada a cada segundo
+public class DiagnosticoController {
+
+    @FXML private TableView<Telemetria.ResumoOperacao> tabelaOperacoes;
+    @FXML private TableColumn<Telemetria.ResumoOperacao, String> colunaOperacao;
+    @FXML private TableColumn<Telemetria.ResumoOperacao, Long> colunaChamadas;
+    @FXML private TableColumn<Telemetria.ResumoOperacao, String> colunaFalhas;
+    @FXML private TableColumn<Telemetria.ResumoOperacao, String> colunaP50;
+    @FXML private TableColumn<Telemetria.ResumoOperacao, String> colunaP95;
+    @FXML private TableColumn<Telemetria.ResumoOperacao, String> colunaP99;
+    @FXML private TableColumn<Telemetria.ResumoOperacao, String> colunaMaximo;
+    @FXML private TableColumn<Telemetria.ResumoOperacao, String> colunaP95Cabecalhos;
+    @FXML private Label resumoLabel;
+
+    private Telemetria telemetria;
+    private final Timeline atualizacao = new Timeline(new KeyFrame(Duration.seconds(1), e -> atualizar()));
+
+    @FXML
+    private void initialize() {
+        colunaOperacao.setCellValueFactory(c -> new ReadOnlyStringWrapper(c.getValue().operacao()));
+        colunaChamadas.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().chamadas()));
+        colunaFalhas.setCellValueFactory(c -> new ReadOnlyStringWrapper(c.getValue().falhas() == 0 ? "0"
+                : c.getValue().falhas() + " " + c.getValue().falhasPorTipo().entrySet().stream()
+                        .map(f -> f.getKey() + ": " + f.getValue())
+                        .collect(Collectors.joining(", ", "(", ")"))));
+        emMs(colunaP50, Telemetria.ResumoOperacao::p50Ms);
+        emMs(colunaP95, Telemetria.ResumoOperacao::p95Ms);
+        emMs(colunaP99, Telemetria.ResumoOperacao::p99Ms);
+        emMs(colunaMaximo, Telemetria.ResumoOperacao::maximoMs);
+        emMs(colunaP95Cabecalhos, Telemetria.ResumoOperacao::p95CabecalhosMs);
+        atualizacao.setCycleCount(Animation.INDEFINITE);
+    }
+
+    public void exibir(Telemetria telemetria) {
+        this.telemetria = telemetria;
+        atualizar();
+        atualizacao.play();
+    }
+
+    // Chamado quando a janela fecha
+    public void parar() {
+        atualizacao.stop();
+    }
+
+    private void atualizar() {
+        tabelaOperacoes.getItems().setAll(telemetria.resumo());
+        int lentas = telemetria.lentas().size();
+        resumoLabel.setText("Desde " + telemetria.inicio().atZone(ZoneId.systemDefault()).toLocalTime().withNano(0)
+                + (lentas == 0 ? "" : " | " + lentas + " chamada(s) acima de " + Telemetria.LIMITE_LENTA_MS + " ms (detalhes no JSON)"));
+    }
+
+    @FXML
+    private void zerar() {
+        telemetria.zerar();
+        atualizar();
+    }
+
+    @FXML
+    private void exportar() {
+        FileChooser seletor = new FileChooser();
+        seletor.setTitle("Exportar diagnóstico");
+        seletor.setInitialFileName("diagnostico-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        seletor.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON", "*.json"));
+        File arquivo = seletor.showSaveDialog(tabelaOperacoes.getScene().getWindow());
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            telemetria.exportar(arquivo.toPath());
+        } catch (IOException e) {
+            Alert alert = new Alert(Alert.AlertType.WARNING, "Não foi possível salvar o arquivo: " + e.getMessage());
+            alert.setHeaderText(null);
+            alert.showAndWait();
+        }
+    }
+
+    private static void emMs(TableColumn<Telemetria.ResumoOperacao, String> coluna, Function<Telemetria.ResumoOperacao, Double> valor) {
+        coluna.setCellValueFactory(c -> new ReadOnlyStringWrapper(String.format(Locale.ROOT, "%.1f", valor.apply(c.getValue()))));
+    }
+}
@@ -0,0 +1,295 @@
+package br.com.curso.listadetarefas.desktop;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+/**
+ * Lista da tabela que não guarda todas as tarefas: só as páginas perto do que está na tela.
+ *
+ * O TableView já cria células apenas para as linhas visíveis e pede cada linha com get(i). Aqui, get(i)
+ * devolve a tarefa se a página dela estiver carregada; senão devolve CARREGANDO e pede a página à API.
+ * Quando a página chega, só as linhas dela são notificadas. No máximo MAX_PAGINAS páginas ficam em
+ * memória (as menos usadas saem primeiro), então o consumo é o mesmo com 1 mil ou 1 milhão de tarefas.
+ *
+ * Ao arrastar a barra de rolagem, muitas páginas são pedidas e logo deixam de estar na tela; por isso
+ * no máximo CARREGAMENTOS_SIMULTANEOS vão à API ao mesmo tempo e, dos pedidos em espera, vale o mais
+ * recente (a posição atual da rolagem). Os mais antigos são descartados.
+ *
+ * Sem a API (offline, ou antes da primeira resposta) a lista fica no modo local: uma lista comum com a
+ * cópia do CacheLocal. Todo acesso é feito na thread do JavaFX.
+ */
+public class ListaPaginada extends ObservableListBase<Tarefa> {
+
+    public static final int TAMANHO_PAGINA = 100;
+    static final int MAX_PAGINAS = 20; // ~2.000 tarefas em memória
+    private static final int CARREGAMENTOS_SIMULTANEOS = 2;
+    private static final int MAX_PEDIDOS_EM_ESPERA = 6;
+    private static final long ESPERA_APOS_FALHA_MS = 5_000;
+
+    // Linha de uma página ainda não carregada (id null: não pode ser editada nem excluída)
+    public static final Tarefa CARREGANDO = new Tarefa();
+    static {
+        CARREGANDO.setDescricao("Carregando...");
+    }
+
+    private final IntFunction<CompletableFuture<PaginaTarefas>> carregador;
+    private final Executor naTela;
+
+    private final Map<Integer, List<Tarefa>> paginas = new LinkedHashMap<>(MAX_PAGINAS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Tarefa>> maisAntiga) {
+            return size() > MAX_PAGINAS;
+        }
+    };
+    private final Set<Integer> carregando = new HashSet<>();
+    private final Deque<Integer> pedidos = new ArrayDeque<>();
+    private final Map<Integer, Long> ultimaFalha = new HashMap<>();
+    private List<Tarefa> local = new ArrayList<>(); // null = modo remoto (paginado)
+    private int total;
+    // Muda a cada troca de conteúdo; respostas de uma geração anterior são descartadas
+    private int geracao;
+
+    // 'carregador' busca a página n (a partir de 0) com TAMANHO_PAGINA tarefas
+    public ListaPaginada(IntFunction<CompletableFuture<PaginaTarefas>> carregador) {
+        this(carregador, Platform::runLater);
+    }
+
+    ListaPaginada(IntFunction<CompletableFuture<PaginaTarefas>> carregador, Executor naTela) {
+        this.carregador = carregador;
+        this.naTela = naTela;
+    }
+
+    @Override
+    public Tarefa get(int indice) {
+        Objects.checkIndex(indice, size());
+        if (local != null) {
+            return local.get(indice);
+        }
+        int numero = indice / TAMANHO_PAGINA;
+        List<Tarefa> pagina = paginas.get(numero);
+        int posicao = indice % TAMANHO_PAGINA;
+        if (pagina == null || posicao >= pagina.size()) {
+            pedir(numero);
+            return CARREGANDO;
+        }
+        return pagina.get(posicao);
+    }
+
+    @Override
+    public int size() {
+        return local != null ? local.size() : total;
+    }
+
+    public boolean isRemota() {
+        return local == null;
+    }
+
+    // Modo local: exibe 'tarefas' inteira, sem paginar
+    public void usarLocal(List<Tarefa> tarefas) {
+        trocarConteudo(() -> local = new ArrayList<>(tarefas));
+    }
+
+    // Modo remoto, a partir da primeira página; as demais são buscadas conforme aparecem na tela
+    public void usarRemoto(PaginaTarefas primeira) {
+        trocarConteudo(() -> {
+            local = null;
+            total = (int) primeira.total();
+            paginas.put(0, new ArrayList<>(primeira.tarefas()));
+        });
+    }
+
+    // Nova tarefa: os ids crescem, então ela entra no fim da lista
+    public void adicionar(Tarefa tarefa) {
+        int indice = size();
+        if (local != null) {
+            local.add(tarefa);
+        } else {
+            total++;
+            List<Tarefa> pagina = paginas.get(indice / TAMANHO_PAGINA);
+            if (pagina != null && pagina.size() == indice % TAMANHO_PAGINA) {
+                pagina.add(tarefa);
+            }
+        }
+        beginChange();
+        nextAdd(indice, indice + 1);
+        endChange();
+    }
+
+    // Troca a tarefa de mesmo id, se estiver carregada (a tabela redesenha só essa linha)
+    public boolean substituir(Tarefa tarefa) {
+        int indice = indiceCarregado(tarefa.getId());
+        if (indice < 0) {
+            return false;
+        }
+        Tarefa anterior = local != null ? local.set(indice, tarefa)
+                : paginas.get(indice / TAMANHO_PAGINA).set(indice % TAMANHO_PAGINA, tarefa);
+        beginChange();
+        nextSet(indice, anterior);
+        endChange();
+        return true;
+    }
+
+    // Remove a tarefa se estiver carregada. As linhas seguintes sobem uma posição: as páginas carregadas
+    // logo depois dela passam o primeiro item para a anterior; as que vêm depois de uma página não
+    // carregada saem da memória (não há como saber o item que subiria para elas).
+    // Devolve false se a tarefa não está carregada: a posição dela é desconhecida e só recarregando.
+    public boolean remover(Long id) {
+        int indice = indiceCarregado(id);
+        if (indice < 0) {
+            return false;
+        }
+        Tarefa removida;
+        if (local != null) {
+            removida = local.remove(indice);
+        } else {
+            int numero = indice / TAMANHO_PAGINA;
+            removida = paginas.get(numero).remove(indice % TAMANHO_PAGINA);
+            while (paginas.containsKey(numero + 1) && !paginas.get(numero + 1).isEmpty()) {
+                paginas.get(numero).add(paginas.get(numero + 1).remove(0));
+                numero++;
+            }
+            int ultima = numero;
+            paginas.keySet().removeIf(n -> n > ultima);
+            total--;
+            // Se não é a última página da lista, falta-lhe o último item: get() a recarrega quando ele aparecer
+        }
+        beginChange();
+        nextRemove(indice, removida);
+        endChange();
+        return true;
+    }
+
+    // Tarefa carregada com este id (para quem só guardou o id, como a seleção)
+    public Tarefa buscarCarregada(Long id) {
+        int indice = indiceCarregado(id);
+        return indice < 0 ? null : get(indice);
+    }
+
+    // O que está em memória, em ordem: a lista local inteira, ou as páginas carregadas (para o CacheLocal)
+    public List<Tarefa> carregadas() {
+        if (local != null) {
+            return new ArrayList<>(local);
+        }
+        List<Tarefa> tarefas = new ArrayList<>();
+        new TreeMap<>(paginas).values().forEach(tarefas::addAll);
+        return tarefas;
+    }
+
+    private int indiceCarregado(Long id) {
+        if (local != null) {
+            for (int i = 0; i < local.size(); i++) {
+                if (local.get(i).getId().equals(id)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        for (Map.Entry<Integer, List<Tarefa>> pagina : paginas.entrySet()) {
+            List<Tarefa> tarefas = pagina.getValue();
+            for (int i = 0; i < tarefas.size(); i++) {
+                if (tarefas.get(i).getId().equals(id)) {
+                    return pagina.getKey() * TAMANHO_PAGINA + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void pedir(int numero) {
+        if (carregando.contains(numero) || pedidos.peekLast() != null && pedidos.peekLast() == numero) {
+            return;
+        }
+        Long falha = ultimaFalha.get(numero);
+        if (falha != null && System.currentTimeMillis() - falha < ESPERA_APOS_FALHA_MS) {
+            return;
+        }
+        pedidos.remove(numero);
+        pedidos.addLast(numero);
+        if (pedidos.size() > MAX_PEDIDOS_EM_ESPERA) {
+            pedidos.removeFirst(); // Já saiu da tela há tempo
+        }
+        despachar();
+    }
+
+    private void despachar() {
+        while (carregando.size() < CARREGAMENTOS_SIMULTANEOS && !pedidos.isEmpty()) {
+            int numero = pedidos.removeLast();
+            if (completa(numero)) {
+                continue; // Chegou enquanto o pedido esperava
+            }
+            int geracaoDoPedido = geracao;
+            carregando.add(numero);
+            carregador.apply(numero).whenComplete((pagina, erro) -> naTela.execute(() -> {
+                if (geracaoDoPedido != geracao) {
+                    return;
+                }
+                carregando.remove(numero);
+                if (erro != null) {
+                    ultimaFalha.put(numero, System.currentTimeMillis());
+                } else {
+                    receber(numero, pagina);
+                }
+                despachar();
+            }));
+        }
+    }
+
+    private void receber(int numero, PaginaTarefas pagina) {
+        if (pagina.total() != total) {
+            // Tarefas criadas ou excluídas por outro cliente deslocaram as páginas: fica só esta
+            trocarConteudo(() -> {
+                total = (int) pagina.total();
+                paginas.put(numero, new ArrayList<>(pagina.tarefas()));
+            });
+            return;
+        }
+        List<Tarefa> anteriores = paginas.put(numero, new ArrayList<>(pagina.tarefas()));
+        if (!completa(numero)) {
+            ultimaFalha.put(numero, System.currentTimeMillis()); // Incompleta: não pede de novo a cada get()
+        }
+        int inicio = numero * TAMANHO_PAGINA;
+        int fim = Math.min(inicio + TAMANHO_PAGINA, total);
+        beginChange();
+        for (int i = inicio; i < fim; i++) {
+            int posicao = i - inicio;
+            nextSet(i, anteriores != null && posicao < anteriores.size() ? anteriores.get(posicao) : CARREGANDO);
+        }
+        endChange();
+    }
+
+    private boolean completa(int numero) {
+        List<Tarefa> pagina = paginas.get(numero);
+        return pagina != null && pagina.size() >= Math.min(TAMANHO_PAGINA, total - numero * TAMANHO_PAGINA);
+    }
+
+    // Troca todo o conteúdo numa única notificação. As linhas removidas são informadas como
+    // CARREGANDO (nCopies não ocupa memória por item), já que as antigas nem estão todas carregadas.
+    private void trocarConteudo(Runnable troca) {
+        int anterior = size();
+        geracao++;
+        paginas.clear();
+        carregando.clear();
+        pedidos.clear();
+        ultimaFalha.clear();
+        troca.run();
+        beginChange();
+        nextReplace(0, size(), Collections.nCopies(anterior, CARREGANDO));
+        endChange();
+    }
+}
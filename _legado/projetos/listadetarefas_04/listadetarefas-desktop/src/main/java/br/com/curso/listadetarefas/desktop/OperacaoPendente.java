@@ -0,0 +1,43 @@
+package br.com.curso.listadetarefas.desktop;
+
+import java.util.UUID;
+
+// Alteração feita sem conexão, guardada até ser reenviada à API.
+// 'id' identifica a entrada na fila, mesmo depois de a operação ser reescrita.
+// 'base' é a tarefa como estava antes da alteração: se no servidor ela já não estiver assim,
+// alguém a alterou nesse meio-tempo e a alteração local vira um conflito.
+// 'enviada' é marcada antes do primeiro envio: daí em diante o servidor pode já tê-la recebido.
+public record OperacaoPendente(String id, Tipo tipo, Tarefa tarefa, Tarefa base, String chaveIdempotencia, boolean enviada) {
+
+    public enum Tipo { CRIAR, ATUALIZAR, EXCLUIR }
+
+    public OperacaoPendente {
+        if (id == null) {
+            id = UUID.randomUUID().toString(); // Fila gravada por uma versão anterior, sem id
+        }
+    }
+
+    public static OperacaoPendente criar(Tarefa tarefa, String chaveIdempotencia) {
+        return new OperacaoPendente(null, Tipo.CRIAR, tarefa, null, chaveIdempotencia, false);
+    }
+
+    public static OperacaoPendente atualizar(Tarefa base, Tarefa tarefa) {
+        return new OperacaoPendente(null, Tipo.ATUALIZAR, tarefa, base, null, false);
+    }
+
+    public static OperacaoPendente excluir(Tarefa base) {
+        return new OperacaoPendente(null, Tipo.EXCLUIR, base, base, null, false);
+    }
+
+    OperacaoPendente comoEnviada() {
+        return new OperacaoPendente(id, tipo, tarefa, base, chaveIdempotencia, true);
+    }
+
+    // A operação anterior da mesma tarefa chegou ao servidor: passa a usar o id que ele deu
+    // (no lugar do temporário) e a comparar com a versão que ele devolveu
+    OperacaoPendente reapontada(Tarefa noServidor) {
+        Tarefa alterada = tarefa.copia();
+        alterada.setId(noServidor.getId());
+        return new OperacaoPendente(id, tipo, alterada, noServidor.copia(), chaveIdempotencia, enviada);
+    }
+}
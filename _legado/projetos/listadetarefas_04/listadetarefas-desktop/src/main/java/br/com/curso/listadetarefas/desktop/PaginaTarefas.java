@@ -0,0 +1,9 @@
+package br.com.curso.listadetarefas.desktop;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+
+// Resposta de GET /api/tarefas/pagina: o total de tarefas no servidor e as tarefas de uma página
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PaginaTarefas(long total, List<Tarefa> tarefas) {
+}
@@ -1,18 +1,13 @@
 package br.com.curso.listadetarefas.desktop;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Tarefa {
     private Long id;
     private String descricao;
     private boolean concluida;
-
-    @JsonIgnore
-    private final BooleanProperty selecionada = new SimpleBooleanProperty(false);
+    private Long revisao; // Versão da tarefa no servidor (muda a cada alteração)
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -20,8 +15,16 @@ public class Tarefa {
     public void setDescricao(String descricao) { this.descricao = descricao; }
     public boolean isConcluida() { return concluida; }
     public void setConcluida(boolean concluida) { this.concluida = concluida; }
+    public Long getRevisao() { return revisao; }
+    public void setRevisao(Long revisao) { this.revisao = revisao; }
 
-    public boolean isSelecionada() { return selecionada.get(); }
-    public BooleanProperty selecionadaProperty() { return selecionada; }
-    public void setSelecionada(boolean selecionada) { this.selecionada.set(selecionada); }
+    // Cópia para editar sem perder a versão anterior (base da detecção de conflitos offline)
+    public Tarefa copia() {
+        Tarefa copia = new Tarefa();
+        copia.setId(id);
+        copia.setDescricao(descricao);
+        copia.setConcluida(concluida);
+        copia.setRevisao(revisao);
+        return copia;
+    }
 }
\ No newline at end of file
@@ -1,70 +1,239 @@
 package br.com.curso.listadetarefas.desktop;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.Collections;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
+// Todas as chamadas são assíncronas: devolvem um CompletableFuture que falha com TarefaApiException.
+// Um único HttpClient (HTTP/2 quando a API aceitar, senão HTTP/1.1) reaproveita as conexões.
+// As respostas são lidas direto do InputStream pelo Jackson, sem montar uma String com o corpo.
 public class TarefaApiService {
-    private final HttpClient client = HttpClient.newHttpClient();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(3))
+            .build();
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final String API_URL = "http://localhost:8080/api/tarefas";
+    private final ObjectReader leitorTarefa = objectMapper.readerFor(Tarefa.class);
+    private final ObjectReader leitorPagina = objectMapper.readerFor(PaginaTarefas.class);
+    private final String API_URL;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final int EXCLUSOES_SIMULTANEAS = 8;
+    private static final int EXCLUSOES_POR_LOTE = 500; // Limite da API para POST /exclusao
 
-    public List<Tarefa> listarTarefas() {
-        HttpRequest request = HttpRequest.newBuilder().uri(URI.create(API_URL)).GET().build();
-        try {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() == 200) {
-                return objectMapper.readValue(response.body(), new TypeReference<>() {});
+    // Descoberto na primeira exclusão em lote: null = ainda não se sabe se a API tem POST /exclusao
+    private volatile Boolean exclusaoEmLoteSuportada;
+
+    private final Telemetria telemetria = new Telemetria();
+
+    public TarefaApiService() {
+        this("http://localhost:8080/api/tarefas");
+    }
+
+    TarefaApiService(String apiUrl) {
+        this.API_URL = apiUrl;
+    }
+
+    public Telemetria getTelemetria() {
+        return telemetria;
+    }
+
+    // Uma página da lista (a partir de 0), com o total de tarefas: a tela nunca baixa a lista inteira
+    public CompletableFuture<PaginaTarefas> listarPagina(int pagina, int tamanho) {
+        return enviar(requisicao(API_URL + "/pagina?pagina=" + pagina + "&tamanho=" + tamanho).GET().build(),
+                leitorPagina::readValue);
+    }
+
+    // Vazio se a tarefa não existe (mais no servidor)
+    public CompletableFuture<Optional<Tarefa>> buscarTarefa(Long id) {
+        return enviar(requisicao(API_URL + "/" + id).GET().build(), corpo -> Optional.of(leitorTarefa.<Tarefa>readValue(corpo)))
+                .handle((tarefa, erro) -> {
+                    if (erro == null) {
+                        return tarefa;
+                    }
+                    if (TarefaApiException.de(erro).getTipo() == TarefaApiException.Tipo.NAO_ENCONTRADA) {
+                        return Optional.empty();
+                    }
+                    throw TarefaApiException.de(erro);
+                });
+    }
+
+    // 'chaveIdempotencia' deve ser a mesma em todas as tentativas da mesma criação:
+    // se a primeira chegou à API antes da falha, a tarefa não é criada duas vezes.
+    // Devolve a tarefa criada (com id), para a tela inseri-la sem recarregar a lista.
+    public CompletableFuture<Tarefa> adicionarTarefa(Tarefa novaTarefa, String chaveIdempotencia) {
+        HttpRequest request = requisicao(API_URL)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", chaveIdempotencia)
+                .POST(json(novaTarefa))
+                .build();
+        return enviar(request, leitorTarefa::readValue);
+    }
+
+    // Devolve a tarefa como ficou no servidor
+    public CompletableFuture<Tarefa> atualizarTarefa(Tarefa tarefa) {
+        HttpRequest request = requisicao(API_URL + "/" + tarefa.getId())
+                .header("Content-Type", "application/json")
+                .PUT(json(tarefa))
+                .build();
+        return enviar(request, leitorTarefa::readValue);
+    }
+
+    // Uma tarefa que a API já não encontra conta como excluída: o resultado desejado é o mesmo
+    public CompletableFuture<Void> deletarTarefa(Long id) {
+        return enviar(requisicao(API_URL + "/" + id).DELETE().build(), corpo -> null)
+                .handle((nada, erro) -> {
+                    if (erro != null && TarefaApiException.de(erro).getTipo() != TarefaApiException.Tipo.NAO_ENCONTRADA) {
+                        throw TarefaApiException.de(erro);
+                    }
+                    return null;
+                });
+    }
+
+    // Exclui várias tarefas e devolve, por id, o motivo de cada uma que falhou (vazio = todas excluídas).
+    // Usa POST /exclusao, em partes de até EXCLUSOES_POR_LOTE ids, uma depois da outra; se a API não
+    // tiver o endpoint, faz um DELETE por tarefa, no máximo EXCLUSOES_SIMULTANEAS ao mesmo tempo.
+    // 'progresso' recebe (resolvidas, total).
+    public CompletableFuture<Map<Long, String>> deletarTarefas(List<Long> ids, BiConsumer<Integer, Integer> progresso) {
+        return deletarAPartirDe(ids, 0, progresso);
+    }
+
+    private CompletableFuture<Map<Long, String>> deletarAPartirDe(List<Long> ids, int inicio, BiConsumer<Integer, Integer> progresso) {
+        List<Long> restantes = ids.subList(inicio, ids.size());
+        BiConsumer<Integer, Integer> progressoTotal = (resolvidas, total) -> progresso.accept(inicio + resolvidas, ids.size());
+        if (Boolean.FALSE.equals(exclusaoEmLoteSuportada)) {
+            return deletarEmParalelo(restantes, progressoTotal);
+        }
+        int fim = Math.min(inicio + EXCLUSOES_POR_LOTE, ids.size());
+        HttpRequest request = requisicao(API_URL + "/exclusao")
+                .header("Content-Type", "application/json")
+                .POST(json(ids.subList(inicio, fim)))
+                .build();
+        return enviar(request, objectMapper::readTree).handle((resultado, erro) -> {
+            if (erro == null) {
+                exclusaoEmLoteSuportada = true;
+                progresso.accept(inicio + resolvidas(resultado), ids.size());
+                return fim < ids.size() ? deletarAPartirDe(ids, fim, progresso)
+                        : CompletableFuture.completedFuture(Map.<Long, String>of());
+            }
+            int status = TarefaApiException.de(erro).getStatus();
+            if (status != 404 && status != 405) {
+                return CompletableFuture.<Map<Long, String>>failedFuture(TarefaApiException.de(erro));
             }
-        } catch (IOException | InterruptedException e) {
-            e.printStackTrace();
+            exclusaoEmLoteSuportada = false; // API sem o endpoint (versão anterior)
+            return deletarEmParalelo(restantes, progressoTotal);
+        }).thenCompose(resultado -> resultado);
+    }
+
+    private static int resolvidas(JsonNode resultado) {
+        return resultado.path("excluidas").size() + resultado.path("naoEncontradas").size();
+    }
+
+    private CompletableFuture<Map<Long, String>> deletarEmParalelo(List<Long> ids, BiConsumer<Integer, Integer> progresso) {
+        Map<Long, String> falhas = new ConcurrentHashMap<>();
+        AtomicInteger proxima = new AtomicInteger();
+        AtomicInteger resolvidas = new AtomicInteger();
+        CompletableFuture<?>[] filas = new CompletableFuture<?>[Math.min(EXCLUSOES_SIMULTANEAS, ids.size())];
+        for (int i = 0; i < filas.length; i++) {
+            filas[i] = excluirProxima(ids, proxima, resolvidas, falhas, progresso);
         }
-        return Collections.emptyList();
+        return CompletableFuture.allOf(filas).thenApply(nada -> falhas);
     }
 
-    public void adicionarTarefa(Tarefa novaTarefa) {
-        try {
-            String jsonBody = objectMapper.writeValueAsString(novaTarefa);
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_URL))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                    .build();
-            client.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (IOException | InterruptedException e) {
-            e.printStackTrace();
+    // Cada fila só pega a próxima tarefa depois que a anterior respondeu: no máximo
+    // EXCLUSOES_SIMULTANEAS chamadas em andamento, sem nenhuma thread bloqueada esperando
+    private CompletableFuture<Void> excluirProxima(List<Long> ids, AtomicInteger proxima, AtomicInteger resolvidas,
+                                                   Map<Long, String> falhas, BiConsumer<Integer, Integer> progresso) {
+        int indice = proxima.getAndIncrement();
+        if (indice >= ids.size()) {
+            return CompletableFuture.completedFuture(null);
         }
+        Long id = ids.get(indice);
+        return deletarTarefa(id)
+                .handle((nada, erro) -> {
+                    if (erro != null) {
+                        falhas.put(id, TarefaApiException.de(erro).getMessage());
+                    }
+                    progresso.accept(resolvidas.incrementAndGet(), ids.size());
+                    return null;
+                })
+                .thenCompose(nada -> excluirProxima(ids, proxima, resolvidas, falhas, progresso));
     }
 
-    public void atualizarTarefa(Tarefa tarefa) {
+    private static HttpRequest.Builder requisicao(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT);
+    }
+
+    private HttpRequest.BodyPublisher json(Object corpo) {
         try {
-            String jsonBody = objectMapper.writeValueAsString(tarefa);
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_URL + "/" + tarefa.getId()))
-                    .header("Content-Type", "application/json")
-                    .PUT(HttpRequest.BodyPublishers.ofString(jsonBody))
-                    .build();
-            client.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (IOException | InterruptedException e) {
-            e.printStackTrace();
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(corpo));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Não foi possível converter para JSON: " + corpo, e);
         }
     }
 
-    public void deletarTarefa(Long id) {
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_URL + "/" + id))
-                    .DELETE()
-                    .build();
-            client.send(request, HttpResponse.BodyHandlers.ofString());
-        } catch (IOException | InterruptedException e) {
-            e.printStackTrace();
+    // Envia e lê o corpo com 'leitor'; qualquer falha (conexão, timeout, status, JSON) vira TarefaApiException.
+    // O tempo de cada chamada, e a falha, se houver, vai para a telemetria
+    private <T> CompletableFuture<T> enviar(HttpRequest request, LeitorCorpo<T> leitor) {
+        String operacao = nomeOperacao(request);
+        long inicio = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .handle((response, erro) -> {
+                    long cabecalhos = System.nanoTime();
+                    try {
+                        T valor = ler(request, response, erro, leitor);
+                        telemetria.registrarSucesso(operacao, micros(cabecalhos - inicio), micros(System.nanoTime() - inicio));
+                        return valor;
+                    } catch (TarefaApiException e) {
+                        telemetria.registrarFalha(operacao, e.getTipo(), e.getStatus(), micros(System.nanoTime() - inicio));
+                        throw e;
+                    }
+                });
+    }
+
+    private static <T> T ler(HttpRequest request, HttpResponse<InputStream> response, Throwable erro, LeitorCorpo<T> leitor) {
+        if (erro != null) {
+            throw TarefaApiException.de(erro);
         }
+        try (InputStream corpo = response.body()) {
+            if (response.statusCode() / 100 != 2) {
+                throw TarefaApiException.deStatus(response.statusCode(), request.uri());
+            }
+            return leitor.ler(corpo);
+        } catch (JsonProcessingException e) {
+            throw new TarefaApiException(TarefaApiException.Tipo.RESPOSTA_INVALIDA, response.statusCode(),
+                    "Resposta inválida de " + request.uri(), e);
+        } catch (IOException e) {
+            throw TarefaApiException.de(e); // Conexão caiu no meio do corpo
+        }
+    }
+
+    // "PUT /api/tarefas/{id}": chamadas ao mesmo endpoint entram no mesmo histograma, qualquer que seja o id
+    private static String nomeOperacao(HttpRequest request) {
+        return request.method() + " " + request.uri().getPath().replaceAll("/-?\\d+(?=/|$)", "/{id}");
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    @FunctionalInterface
+    private interface LeitorCorpo<T> {
+        T ler(InputStream corpo) throws IOException;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+package br.com.curso.listadetarefas.desktop;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// As respostas do carregador são completadas pelo próprio teste, e o executor "na tela" roda na hora
+class ListaPaginadaTest {
+
+    private static final int TAMANHO = ListaPaginada.TAMANHO_PAGINA;
+
+    private final List<Integer> pedidas = new ArrayList<>();
+    private final Map<Integer, CompletableFuture<PaginaTarefas>> emAndamento = new HashMap<>();
+    private final ListaPaginada lista = new ListaPaginada(numero -> {
+        pedidas.add(numero);
+        CompletableFuture<PaginaTarefas> resposta = new CompletableFuture<>();
+        emAndamento.put(numero, resposta);
+        return resposta;
+    }, Runnable::run);
+
+    @Test
+    void get_PaginasMenosUsadasSaemDaMemoria() {
+        int total = (ListaPaginada.MAX_PAGINAS + 5) * TAMANHO;
+        lista.usarRemoto(pagina(0, total));
+        for (int numero = 1; numero < ListaPaginada.MAX_PAGINAS; numero++) {
+            carregar(numero, total);
+        }
+        lista.get(0); // A página 0 volta a ser a mais recente; a 1 passa a ser a menos usada
+
+        carregar(ListaPaginada.MAX_PAGINAS, total);
+
+        assertEquals(ListaPaginada.MAX_PAGINAS * TAMANHO, lista.carregadas().size());
+        assertEquals(1L, lista.get(0).getId());
+        pedidas.clear();
+        assertSame(ListaPaginada.CARREGANDO, lista.get(TAMANHO));
+        assertEquals(List.of(1), pedidas);
+    }
+
+    @Test
+    void remover_LinhasSeguintesSobemUmaPosicao() {
+        int total = 4 * TAMANHO;
+        lista.usarRemoto(pagina(0, total));
+        carregar(1, total);
+        carregar(3, total); // A página 2 não está carregada
+
+        assertTrue(lista.remover(6L)); // Índice 5
+
+        assertEquals(total - 1, lista.size());
+        assertEquals(7L, lista.get(5).getId());
+        assertEquals(101L, lista.get(TAMANHO - 1).getId()); // Primeira da página 1 passou para a 0
+        assertEquals(200L, lista.get(2 * TAMANHO - 2).getId());
+        // O último item da página 1 viria da página 2, que não está em memória; e a 3 ficou deslocada
+        assertEquals(2 * TAMANHO - 1, lista.carregadas().size());
+        assertNull(lista.buscarCarregada(301L));
+        assertFalse(lista.remover(301L));
+    }
+
+    @Test
+    void respostaDeUmaGeracaoAnterior_EDescartada() {
+        int total = 3 * TAMANHO;
+        lista.usarRemoto(pagina(0, total));
+        assertSame(ListaPaginada.CARREGANDO, lista.get(TAMANHO));
+        CompletableFuture<PaginaTarefas> antiga = emAndamento.get(1);
+
+        lista.usarRemoto(pagina(0, total)); // Recarregada enquanto a página 1 estava a caminho
+        antiga.complete(pagina(1, total));
+
+        assertEquals(TAMANHO, lista.carregadas().size()); // Só a primeira página da nova carga
+        assertSame(ListaPaginada.CARREGANDO, lista.get(TAMANHO));
+        assertEquals(List.of(1, 1), pedidas); // Pedida de novo, na geração atual
+        emAndamento.get(1).complete(pagina(1, total));
+        assertEquals(101L, lista.get(TAMANHO).getId());
+    }
+
+    private void carregar(int numero, int total) {
+        assertSame(ListaPaginada.CARREGANDO, lista.get(numero * TAMANHO));
+        emAndamento.get(numero).complete(pagina(numero, total));
+    }
+
+    // Tarefas com ids numero * TAMANHO + 1 em diante, como se os ids fossem as posições + 1
+    private static PaginaTarefas pagina(int numero, int total) {
+        List<Tarefa> tarefas = IntStream.range(numero * TAMANHO, Math.min((numero + 1) * TAMANHO, total))
+                .mapToObj(indice -> {
+                    Tarefa tarefa = new Tarefa();
+                    tarefa.setId(indice + 1L);
+                    tarefa.setDescricao("Tarefa " + (indice + 1));
+                    return tarefa;
+                })
+                .toList();
+        return new PaginaTarefas(total, tarefas);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.curso.listadetarefas.android
+
+// Resposta de GET /api/tarefas/changes?since=
+data class TarefaAlteracoes(
+    val revisao: Long,
+    val alteradas: List<Tarefa>,
+    val removidas: List<Long>
+)
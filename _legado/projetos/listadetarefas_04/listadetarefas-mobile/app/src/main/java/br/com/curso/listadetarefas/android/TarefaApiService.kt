@@ -5,6 +5,9 @@ import retrofit2.http.*
 interface TarefaApiService {
     @GET("tarefas")
     suspend fun getTarefas(): List<Tarefa>
+    // Sincronização incremental: só o que mudou depois de 'since'
+    @GET("tarefas/changes")
+    suspend fun getAlteracoes(@Query("since") since: Long): TarefaAlteracoes
     @POST("tarefas")
     suspend fun addTarefa(@Body tarefa: Tarefa): Tarefa
     @PUT("tarefas/{id}")
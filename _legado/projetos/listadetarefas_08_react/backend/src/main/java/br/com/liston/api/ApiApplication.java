@@ -1,9 +1,14 @@
 package br.com.liston.api;
 
+import br.com.liston.api.config.TarefaRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // Runs TarefaArquivador
+@ImportRuntimeHints(TarefaRuntimeHints.class) // Native image metadata (-Pnative)
 public class ApiApplication {
 
     public static void main(String[] args) {
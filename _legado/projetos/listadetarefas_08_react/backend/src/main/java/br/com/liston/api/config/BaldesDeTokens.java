@@ -0,0 +1,84 @@
+package br.com.liston.api.config;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by client, shared by LimiteRequisicoesFilter and LimiteFalhasAutenticacaoFilter:
+ * a burst of up to 'capacidade' tokens, refilled at 'porSegundo'.
+ *
+ * Each bucket is a single AtomicLong (GCRA form of the token bucket: the instant the bucket
+ * is full again), updated with one CAS and no lock. ConcurrentHashMap stripes the map itself.
+ * Buckets that have refilled completely carry no state and are swept out periodically.
+ */
+class BaldesDeTokens {
+
+    private static final long INTERVALO_LIMPEZA_NS = TimeUnit.MINUTES.toNanos(1);
+
+    private final long intervaloNs;  // Time to refill one token
+    private final long rajadaNs;     // Time to refill a whole bucket
+    private final ConcurrentHashMap<String, AtomicLong> baldes = new ConcurrentHashMap<>();
+    private final AtomicLong proximaLimpeza;
+
+    BaldesDeTokens(int capacidade, double porSegundo, long agora) {
+        if (capacidade < 1 || porSegundo <= 0) {
+            throw new IllegalArgumentException("Rate limit needs a capacity >= 1 and a positive refill rate.");
+        }
+        this.intervaloNs = (long) (TimeUnit.SECONDS.toNanos(1) / porSegundo);
+        this.rajadaNs = intervaloNs * capacidade;
+        this.proximaLimpeza = new AtomicLong(agora + INTERVALO_LIMPEZA_NS);
+    }
+
+    // Takes one token; returns 0 when allowed, otherwise how long until a token is available
+    long consumir(String cliente, long agora) {
+        AtomicLong cheioEm = baldes.computeIfAbsent(cliente, c -> new AtomicLong(agora));
+        while (true) {
+            long atual = cheioEm.get();
+            long base = Math.max(atual, agora);
+            long novo = base + intervaloNs;
+            if (novo - agora > rajadaNs) {
+                return novo - agora - rajadaNs;
+            }
+            if (cheioEm.compareAndSet(atual, novo)) {
+                return 0;
+            }
+        }
+    }
+
+    // Same answer as consumir(), without taking the token
+    long espera(String cliente, long agora) {
+        AtomicLong cheioEm = baldes.get(cliente);
+        if (cheioEm == null) {
+            return 0;
+        }
+        long novo = Math.max(cheioEm.get(), agora) + intervaloNs;
+        return Math.max(0, novo - agora - rajadaNs);
+    }
+
+    int total() {
+        return baldes.size();
+    }
+
+    // One request per minute pays for the sweep; the others only read a volatile
+    void limparSeNecessario(long agora) {
+        long limpeza = proximaLimpeza.get();
+        if (agora - limpeza >= 0 && proximaLimpeza.compareAndSet(limpeza, agora + INTERVALO_LIMPEZA_NS)) {
+            // A full bucket is the same as a new one, so dropping it loses nothing
+            baldes.values().removeIf(cheioEm -> cheioEm.get() - agora <= 0);
+        }
+    }
+
+    // 429 with Retry-After rounded up to whole seconds
+    static void recusar(HttpServletResponse response, long esperaNs) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNs + 999_999_999))));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.getWriter().write("{\"status\":429,\"title\":\"Too Many Requests\"}");
+    }
+}
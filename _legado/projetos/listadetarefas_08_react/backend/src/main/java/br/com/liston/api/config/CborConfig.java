@@ -0,0 +1,33 @@
+package br.com.liston.api.config;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration // Compact binary encoding for clients that send 'Accept: application/cbor'
+public class CborConfig {
+
+    // String references (CBOR tags 256/25) are an extension that many generic decoders reject,
+    // so they are only worth turning on when every client is known to decode them
+    @Value("${liston.cbor.stringref:false}")
+    private boolean stringref;
+
+    // Replaces Spring's default CBOR converter; JSON stays the default for every other client
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        CBORFactory factory = CBORFactory.builder()
+                // When on, repeated property names (and titles) in a list are sent once, then referenced by index
+                .configure(CBORGenerator.Feature.STRINGREF, stringref)
+                .build();
+        return new MappingJackson2CborHttpMessageConverter(builder
+                .factory(factory)
+                // Timestamps as integer arrays [y, M, d, h, m, s, nanos] instead of 26-character ISO strings
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+}
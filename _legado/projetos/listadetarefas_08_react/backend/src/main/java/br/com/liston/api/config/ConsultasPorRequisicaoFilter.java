@@ -0,0 +1,34 @@
+package br.com.liston.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component // Counts the JDBC statements each /api request runs (see MonitorConsultas)
+public class ConsultasPorRequisicaoFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MonitorConsultas monitor;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        monitor.iniciarRequisicao(request);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            monitor.encerrarRequisicao(request);
+        }
+    }
+}
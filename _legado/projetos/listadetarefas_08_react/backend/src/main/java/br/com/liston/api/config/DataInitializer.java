@@ -25,13 +25,13 @@ public class DataInitializer implements CommandLineRunner {
         // Clears the database (if there is anything)
         tarefaRepository.deleteAll();
 
-        // Creates initial tasks
-        Tarefa t1 = new Tarefa("Study Spring Boot", "Finish REST API guide");
+        // Creates initial tasks, owned by the 'demo' user (POST /api/auth/token?usuario=demo)
+        Tarefa t1 = new Tarefa("demo", "Study Spring Boot", "Finish REST API guide");
         t1.setConcluida(true); // Marks the first one as completed
 
-        Tarefa t2 = new Tarefa("Study React", "Learn about React Components");
+        Tarefa t2 = new Tarefa("demo", "Study React", "Learn about React Components");
 
-        Tarefa t3 = new Tarefa("Study React Native", "Prepare mobile environment");
+        Tarefa t3 = new Tarefa("demo", "Study React Native", "Prepare mobile environment");
 
         // Saves all at once
         tarefaRepository.saveAll(List.of(t1, t2, t3));
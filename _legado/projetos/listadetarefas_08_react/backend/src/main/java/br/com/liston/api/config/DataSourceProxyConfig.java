@@ -0,0 +1,32 @@
+package br.com.liston.api.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceProxyConfig {
+
+    // Wraps the connection pool so every statement passes through MonitorConsultas.
+    // The monitor is looked up on first use: post-processors are created before the metrics registry.
+    @Bean
+    public static BeanPostProcessor dataSourceProxy(ObjectProvider<MonitorConsultas> monitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(nome)
+                            .afterQuery((execucao, consultas) -> monitor.getObject().registrar(execucao, consultas))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
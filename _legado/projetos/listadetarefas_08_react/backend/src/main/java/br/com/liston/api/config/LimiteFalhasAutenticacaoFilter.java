@@ -0,0 +1,61 @@
+package br.com.liston.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits failed authentications per remote address on /api/**. Runs before bearer-token authentication,
+ * so a bad or expired token, which gets its 401 before LimiteRequisicoesFilter is reached, still counts.
+ *
+ * Every 401 takes a token from the address's bucket; once it is empty, further requests from that
+ * address get 429 without reaching authentication, valid token or not, until it refills.
+ */
+public class LimiteFalhasAutenticacaoFilter extends OncePerRequestFilter {
+
+    private final LongSupplier relogio;
+    private final BaldesDeTokens baldes;
+
+    public LimiteFalhasAutenticacaoFilter(int capacidade, double porSegundo) {
+        this(capacidade, porSegundo, System::nanoTime);
+    }
+
+    LimiteFalhasAutenticacaoFilter(int capacidade, double porSegundo, LongSupplier relogio) {
+        this.relogio = relogio;
+        this.baldes = new BaldesDeTokens(capacidade, porSegundo, relogio.getAsLong());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String cliente = "ip:" + request.getRemoteAddr();
+        long agora = relogio.getAsLong();
+        long esperaNs = baldes.espera(cliente, agora);
+        baldes.limparSeNecessario(agora);
+        if (esperaNs > 0) {
+            BaldesDeTokens.recusar(response, esperaNs);
+            return;
+        }
+
+        chain.doFilter(request, response);
+
+        if (response.getStatus() == HttpStatus.UNAUTHORIZED.value()) {
+            baldes.consumir(cliente, relogio.getAsLong());
+        }
+    }
+
+    int totalBaldes() {
+        return baldes.total();
+    }
+}
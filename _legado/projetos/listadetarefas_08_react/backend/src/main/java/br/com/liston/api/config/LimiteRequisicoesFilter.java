@@ -0,0 +1,72 @@
+package br.com.liston.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per client in front of /api/**: a burst of up to 'capacidade' requests,
+ * refilled at 'porSegundo'. A client over its limit gets 429 with Retry-After, so one
+ * misbehaving poller cannot starve everyone else.
+ *
+ * Clients are keyed by JWT subject when authenticated, otherwise by remote address.
+ * Requests whose token is rejected never get here; LimiteFalhasAutenticacaoFilter limits those.
+ */
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private final LongSupplier relogio;
+    private final BaldesDeTokens baldes;
+
+    public LimiteRequisicoesFilter(int capacidade, double porSegundo) {
+        this(capacidade, porSegundo, System::nanoTime);
+    }
+
+    LimiteRequisicoesFilter(int capacidade, double porSegundo, LongSupplier relogio) {
+        this.relogio = relogio;
+        this.baldes = new BaldesDeTokens(capacidade, porSegundo, relogio.getAsLong());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long agora = relogio.getAsLong();
+        long esperaNs = consumir(cliente(request), agora);
+        baldes.limparSeNecessario(agora);
+
+        if (esperaNs == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        BaldesDeTokens.recusar(response, esperaNs);
+    }
+
+    // Takes one token; returns 0 when allowed, otherwise how long until a token is available
+    long consumir(String cliente, long agora) {
+        return baldes.consumir(cliente, agora);
+    }
+
+    int totalBaldes() {
+        return baldes.total();
+    }
+
+    private static String cliente(HttpServletRequest request) {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao instanceof JwtAuthenticationToken jwt) {
+            return "sub:" + jwt.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.liston.api.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// JDBC diagnostics without show-sql: datasource-proxy times every statement (DataSourceProxyConfig),
+// only statements over 'liston.sql.limite-lenta-ms' are logged, as one JSON line without bind values.
+// Metrics: jdbc.queries (by type) and jdbc.queries.per.request (by route, see ConsultasPorRequisicaoFilter).
+@Component
+public class MonitorConsultas {
+
+    private static final Logger log = LoggerFactory.getLogger("liston.sql.lenta");
+
+    // Route and query count of the request running on this thread, if any
+    private final ThreadLocal<Requisicao> requisicaoAtual = new ThreadLocal<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${liston.sql.limite-lenta-ms:200}")
+    private long limiteLentaMs;
+
+    private static final class Requisicao {
+        private final String descricao;
+        private int consultas;
+
+        private Requisicao(String descricao) {
+            this.descricao = descricao;
+        }
+    }
+
+    public void registrar(ExecutionInfo execucao, List<QueryInfo> consultas) {
+        Requisicao requisicao = requisicaoAtual.get();
+        if (requisicao != null) {
+            requisicao.consultas += consultas.size();
+        }
+        for (QueryInfo consulta : consultas) {
+            registry.counter("jdbc.queries", "type", QueryUtils.getQueryType(consulta.getQuery()).name()).increment();
+        }
+        if (execucao.getElapsedTime() >= limiteLentaMs) {
+            logarLenta(execucao, consultas, requisicao);
+        }
+    }
+
+    void iniciarRequisicao(HttpServletRequest request) {
+        requisicaoAtual.set(new Requisicao(request.getMethod() + " " + request.getRequestURI()));
+    }
+
+    void encerrarRequisicao(HttpServletRequest request) {
+        Requisicao requisicao = requisicaoAtual.get();
+        requisicaoAtual.remove();
+        if (requisicao == null) {
+            return;
+        }
+        // Route pattern, not the raw URI, so ids do not multiply the time series
+        Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        registry.summary("jdbc.queries.per.request",
+                        "method", request.getMethod(),
+                        "uri", rota == null ? "UNKNOWN" : rota.toString())
+                .record(requisicao.consultas);
+    }
+
+    private void logarLenta(ExecutionInfo execucao, List<QueryInfo> consultas, Requisicao requisicao) {
+        for (QueryInfo consulta : consultas) {
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("elapsedMs", execucao.getElapsedTime());
+            linha.put("type", QueryUtils.getQueryType(consulta.getQuery()).name());
+            linha.put("success", execucao.isSuccess());
+            linha.put("batchSize", execucao.getBatchSize());
+            linha.put("params", consulta.getParametersList().stream().mapToInt(List::size).sum());
+            linha.put("request", requisicao == null ? null : requisicao.descricao);
+            linha.put("query", consulta.getQuery());
+            try {
+                log.warn(objectMapper.writeValueAsString(linha));
+            } catch (JsonProcessingException e) {
+                log.warn("Slow query ({} ms): {}", execucao.getElapsedTime(), consulta.getQuery());
+            }
+        }
+    }
+}
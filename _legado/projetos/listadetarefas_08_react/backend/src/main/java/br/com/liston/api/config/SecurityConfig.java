@@ -1,20 +1,52 @@
 package br.com.liston.api.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // HMAC key shared with whoever issues the tokens (DevTokenController in 'dev')
+    @Value("${liston.jwt.segredo}")
+    private String segredoJwt;
+
+    // Token bucket per client (see LimiteRequisicoesFilter)
+    @Value("${liston.limite.capacidade}")
+    private int capacidadeLimite;
+
+    @Value("${liston.limite.por-segundo}")
+    private double limitePorSegundo;
+
+    // Failed authentications per remote address (see LimiteFalhasAutenticacaoFilter)
+    @Value("${liston.limite.falhas.capacidade}")
+    private int capacidadeFalhas;
+
+    @Value("${liston.limite.falhas.por-segundo}")
+    private double falhasPorSegundo;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -28,13 +60,47 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-                        .requestMatchers("/api/tarefas/**").permitAll()
+                        .requestMatchers("/api/auth/**").permitAll() // Dev token endpoint, absent outside 'dev'
+                        .requestMatchers("/api/tarefas/**").authenticated()
+                        .requestMatchers("/actuator/health").permitAll() // Metrics stay behind authentication
                         .anyRequest().authenticated())
-                .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()));
+                .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))
+
+                // 4. Bearer JWT authentication; the 'sub' claim identifies the task owner
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .bearerTokenResolver(bearerTokenResolver())
+                        .jwt(Customizer.withDefaults()))
+
+                // 5. Rate limits: failed authentications per IP before the token is checked (a rejected token
+                // never reaches the filter after it), then every request, keyed by JWT subject when there is one
+                .addFilterBefore(new LimiteFalhasAutenticacaoFilter(capacidadeFalhas, falhasPorSegundo),
+                        BearerTokenAuthenticationFilter.class)
+                .addFilterAfter(new LimiteRequisicoesFilter(capacidadeLimite, limitePorSegundo),
+                        BearerTokenAuthenticationFilter.class);
 
         return http.build();
     }
 
+    @Bean
+    public JwtDecoder jwtDecoder() {
+        return NimbusJwtDecoder.withSecretKey(chaveJwt()).build(); // Also checks 'exp'
+    }
+
+    @Bean
+    public SecretKey chaveJwt() {
+        return new SecretKeySpec(segredoJwt.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    // EventSource (SSE) cannot send an Authorization header, so only the stream accepts ?access_token=.
+    // Everywhere else a token in the URL (which ends up in logs and browser history) is ignored
+    private BearerTokenResolver bearerTokenResolver() {
+        DefaultBearerTokenResolver cabecalho = new DefaultBearerTokenResolver();
+        DefaultBearerTokenResolver cabecalhoOuQuery = new DefaultBearerTokenResolver();
+        cabecalhoOuQuery.setAllowUriQueryParameter(true);
+        RequestMatcher stream = PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/tarefas/stream");
+        return request -> stream.matches(request) ? cabecalhoOuQuery.resolve(request) : cabecalho.resolve(request);
+    }
+
     // 3. CORS configuration Bean
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
@@ -45,7 +111,7 @@ public class SecurityConfig {
         // Allowed HTTP methods
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         // Allowed Headers
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type", "Idempotency-Key"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration); // Applies to all routes
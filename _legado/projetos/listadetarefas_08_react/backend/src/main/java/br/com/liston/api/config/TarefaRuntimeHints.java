@@ -0,0 +1,53 @@
+package br.com.liston.api.config;
+
+import br.com.liston.api.dto.TarefaEventoDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+// Reachability metadata for the native image (-Pnative) that Spring AOT cannot infer on its own.
+// Entities, repositories, controllers and the security filter chain are covered by AOT processing;
+// Lombok needs nothing (it only generates code at compile time); H2 and PostgreSQL ship their own metadata.
+public class TarefaRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // JPQL "select new TarefaResponseDTO(...)" projections call the constructor reflectively
+        hints.reflection().registerType(TarefaResponseDTO.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        // Serialized by Jackson into the SSE stream and into stored idempotent responses
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                TarefaEventoDTO.class, TarefaResponseDTO.class);
+
+        // Second-level cache: both are named by string in application.properties
+        hints.reflection().registerType(TypeReference.of("org.hibernate.cache.jcache.internal.JCacheRegionFactory"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        // Cache regions (application.conf) and Caffeine's defaults (reference.conf)
+        hints.resources().registerPattern("application.conf");
+        hints.resources().registerPattern("reference.conf");
+
+        // Flyway scripts live in vendor subfolders (db/migration/{vendor}); Boot's own hint only covers db/migration/*.
+        // Includes the V2__indices_de_consulta.sql.conf script configuration
+        hints.resources().registerPattern("db/migration/**");
+
+        // datasource-proxy (DataSourceProxyConfig) wraps each JDBC object in a JDK proxy that implements
+        // ProxyJdbcObject plus the JDBC interface, in that order; a native image needs each combination up front
+        for (Class<?> jdbc : List.of(Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class, ResultSet.class)) {
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbc);
+        }
+    }
+}
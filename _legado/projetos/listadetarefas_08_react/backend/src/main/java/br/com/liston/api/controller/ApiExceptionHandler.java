@@ -0,0 +1,22 @@
+package br.com.liston.api.controller;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice // Maps service exceptions to HTTP status codes for every controller
+public class ApiExceptionHandler {
+
+    // Also covers tasks owned by someone else, which are reported as missing
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ProblemDetail naoEncontrada(EntityNotFoundException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail requisicaoInvalida(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
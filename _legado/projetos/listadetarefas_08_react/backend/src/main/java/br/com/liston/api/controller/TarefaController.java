@@ -2,10 +2,15 @@ package br.com.liston.api.controller;
 
 import br.com.liston.api.dto.TarefaRequestDTO;
 import br.com.liston.api.dto.TarefaResponseDTO;
+import br.com.liston.api.service.IdempotenciaService;
+import br.com.liston.api.service.TarefaEventBus;
 import br.com.liston.api.service.TarefaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.net.URI;
 import java.util.List;
 
@@ -13,25 +18,52 @@ import java.util.List;
 @RequestMapping("/api/tarefas") // Maps all requests to this endpoint
 public class TarefaController {
 
+    // 'dono' is the 'sub' claim of the caller's JWT; every endpoint only sees that owner's tasks
+
     @Autowired
     private TarefaService service;
 
+    @Autowired
+    private TarefaEventBus eventBus;
+
+    @Autowired
+    private IdempotenciaService idempotencia;
+
     @GetMapping
-    public ResponseEntity<List<TarefaResponseDTO>> listarTodasTarefas() {
-        List<TarefaResponseDTO> tarefas = service.listarTodas();
+    public ResponseEntity<List<TarefaResponseDTO>> listarTodasTarefas(@AuthenticationPrincipal(expression = "subject") String dono) {
+        List<TarefaResponseDTO> tarefas = service.listarTodas(dono);
         return ResponseEntity.ok(tarefas); // Returns 200 OK
     }
 
+    // Server-Sent Events feed of created/updated/deleted deltas.
+    // A 'resync' event means the client must reload the full list.
+    // EventSource cannot set headers, so the token may come as ?access_token=
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharTarefas(@AuthenticationPrincipal(expression = "subject") String dono) {
+        return eventBus.assinar(dono);
+    }
+
+    // Completed tasks archived by TarefaArquivador, newest first; they are not part of the default list
+    @GetMapping("/arquivo")
+    public ResponseEntity<List<TarefaResponseDTO>> listarTarefasArquivadas(
+            @AuthenticationPrincipal(expression = "subject") String dono,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(service.listarArquivadas(dono, page, size));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<TarefaResponseDTO> buscarTarefaPorId(@PathVariable Long id) {
-        // Exception handling (EntityNotFoundException) will be done globally later
-        TarefaResponseDTO tarefa = service.buscarPorId(id);
+    public ResponseEntity<TarefaResponseDTO> buscarTarefaPorId(@AuthenticationPrincipal(expression = "subject") String dono,
+                                                               @PathVariable Long id) {
+        TarefaResponseDTO tarefa = service.buscarPorId(dono, id);
         return ResponseEntity.ok(tarefa);
     }
 
+    // With an Idempotency-Key header, a retried request returns the original 201 instead of a duplicate
     @PostMapping
-    public ResponseEntity<TarefaResponseDTO> criarTarefa(@RequestBody TarefaRequestDTO dto) {
-        TarefaResponseDTO novaTarefa = service.criar(dto);
+    public ResponseEntity<TarefaResponseDTO> criarTarefa(@AuthenticationPrincipal(expression = "subject") String dono,
+                                                         @RequestHeader(value = "Idempotency-Key", required = false) String chave,
+                                                         @RequestBody TarefaRequestDTO dto) {
+        TarefaResponseDTO novaTarefa = chave == null ? service.criar(dono, dto) : idempotencia.criar(dono, chave, dto);
 
         // Returns 201 Created with the new resource URL in the 'Location' header
         URI location = URI.create("/api/tarefas/" + novaTarefa.id());
@@ -39,14 +71,16 @@ public class TarefaController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TarefaResponseDTO> atualizarTarefa(@PathVariable Long id, @RequestBody TarefaRequestDTO dto) {
-        TarefaResponseDTO tarefaAtualizada = service.atualizar(id, dto);
+    public ResponseEntity<TarefaResponseDTO> atualizarTarefa(@AuthenticationPrincipal(expression = "subject") String dono,
+                                                             @PathVariable Long id, @RequestBody TarefaRequestDTO dto) {
+        TarefaResponseDTO tarefaAtualizada = service.atualizar(dono, id, dto);
         return ResponseEntity.ok(tarefaAtualizada);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletarTarefa(@PathVariable Long id) {
-        service.deletar(id);
+    public ResponseEntity<Void> deletarTarefa(@AuthenticationPrincipal(expression = "subject") String dono,
+                                              @PathVariable Long id) {
+        service.deletar(dono, id);
         return ResponseEntity.noContent().build(); // Returns 204 No Content
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package br.com.liston.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Delta published on /api/tarefas/stream whenever a task changes.
+// 'tarefa' is null for DELETED and RESYNC events.
+// 'dono' routes the event to its owner's subscribers only and is never serialized.
+public record TarefaEventoDTO(
+        Tipo tipo,
+        Long id,
+        TarefaResponseDTO tarefa,
+        @JsonIgnore String dono
+) {
+    public enum Tipo {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RESYNC // The client missed events and must reload the full list
+    }
+
+    public static TarefaEventoDTO criada(String dono, TarefaResponseDTO tarefa) {
+        return new TarefaEventoDTO(Tipo.CREATED, tarefa.id(), tarefa, dono);
+    }
+
+    public static TarefaEventoDTO atualizada(String dono, TarefaResponseDTO tarefa) {
+        return new TarefaEventoDTO(Tipo.UPDATED, tarefa.id(), tarefa, dono);
+    }
+
+    public static TarefaEventoDTO removida(String dono, Long id) {
+        return new TarefaEventoDTO(Tipo.DELETED, id, null, dono);
+    }
+
+    public static TarefaEventoDTO resync() {
+        return new TarefaEventoDTO(Tipo.RESYNC, null, null, null);
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.liston.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// Idempotency-Key already used on POST /api/tarefas, shared by every API instance
+@Entity
+@Table(name = "chaves_idempotencia", indexes = @Index(name = "idx_chaves_idempotencia_criacao", columnList = "data_criacao"))
+@Data
+@NoArgsConstructor
+public class ChaveIdempotencia implements Persistable<String> {
+
+    @Id // "<owner>:<Idempotency-Key>"; the primary key is what stops two instances creating the same task
+    @Column(length = 220)
+    private String id;
+
+    // SHA-256 of the original request body, to reject the same key reused for another request
+    @Column(nullable = false, length = 64)
+    private String impressao;
+
+    // Original 201 response body (TarefaResponseDTO as JSON)
+    @Column(nullable = false, length = 4000)
+    private String resposta;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    // Keys are only ever inserted: save() must persist (and hit the primary key), never merge over a row
+    @Transient
+    private boolean nova;
+
+    public ChaveIdempotencia(String id, String impressao, String resposta, LocalDateTime dataCriacao) {
+        this.id = id;
+        this.impressao = impressao;
+        this.resposta = resposta;
+        this.dataCriacao = dataCriacao;
+        this.nova = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+}
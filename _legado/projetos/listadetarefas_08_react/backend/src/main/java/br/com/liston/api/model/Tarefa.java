@@ -3,18 +3,31 @@ package br.com.liston.api.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity // Marks this class as a JPA entity (table in database)
-@Table(name = "tarefas") // Table name
+// Table name. Indexes: per-owner reads (list, pending/completed, by creation date)
+// and TarefaArquivador's scan for old completed tasks
+@Table(name = "tarefas", indexes = {
+        @Index(name = "idx_tarefas_dono_concluida_criacao", columnList = "dono_id, concluida, data_criacao"),
+        @Index(name = "idx_tarefas_concluida_atualizacao", columnList = "concluida, data_atualizacao")
+})
 @Data // Lombok: generates getters, setters, equals, hashCode and toString
 @NoArgsConstructor // Lombok: generates an empty constructor (required by JPA)
+@Cacheable // Kept in the Hibernate second-level cache; writes through JPA update/evict it on commit
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tarefas")
 public class Tarefa {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owner: the 'sub' claim of the caller's JWT
+    @Column(name = "dono_id", nullable = false, updatable = false, length = 100)
+    private String dono;
+
     @Column(nullable = false, length = 150)
     private String titulo;
 
@@ -43,7 +56,8 @@ public class Tarefa {
         this.dataAtualizacao = LocalDateTime.now();
     }
 
-    public Tarefa(String titulo, String descricao) {
+    public Tarefa(String dono, String titulo, String descricao) {
+        this.dono = dono;
         this.titulo = titulo;
         this.descricao = descricao;
     }
@@ -0,0 +1,39 @@
+package br.com.liston.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Completed task moved out of 'tarefas' by TarefaArquivador; keeps the original id
+@Entity
+@Table(name = "tarefas_arquivadas",
+        indexes = @Index(name = "idx_tarefas_arquivadas_dono_atualizacao", columnList = "dono_id, data_atualizacao"))
+@Data
+@NoArgsConstructor
+public class TarefaArquivada {
+
+    @Id // Assigned: copied from the archived Tarefa
+    private Long id;
+
+    @Column(name = "dono_id", nullable = false, length = 100)
+    private String dono;
+
+    @Column(nullable = false, length = 150)
+    private String titulo;
+
+    @Column(nullable = true, length = 500)
+    private String descricao;
+
+    @Column(nullable = false)
+    private boolean concluida;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @Column(name = "data_arquivamento", nullable = false)
+    private LocalDateTime dataArquivamento;
+}
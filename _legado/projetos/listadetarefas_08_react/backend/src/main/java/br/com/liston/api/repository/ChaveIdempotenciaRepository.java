@@ -0,0 +1,23 @@
+package br.com.liston.api.repository;
+
+import br.com.liston.api.model.ChaveIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    @Modifying
+    @Query("delete from ChaveIdempotencia c where c.dataCriacao < :limite")
+    int removerCriadasAntesDe(@Param("limite") LocalDateTime limite);
+
+    // One expired key, so it can be reused before the periodic purge reaches it
+    @Modifying
+    @Query("delete from ChaveIdempotencia c where c.id = :id and c.dataCriacao < :limite")
+    int removerSeCriadaAntesDe(@Param("id") String id, @Param("limite") LocalDateTime limite);
+}
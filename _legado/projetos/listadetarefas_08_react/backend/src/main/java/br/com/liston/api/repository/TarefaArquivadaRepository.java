@@ -0,0 +1,31 @@
+package br.com.liston.api.repository;
+
+import br.com.liston.api.dto.TarefaResponseDTO;
+import br.com.liston.api.model.TarefaArquivada;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TarefaArquivadaRepository extends JpaRepository<TarefaArquivada, Long> {
+
+    // Copies a batch of tasks in a single insert ... select, without loading them
+    @Modifying
+    @Query("insert into TarefaArquivada (id, dono, titulo, descricao, concluida, dataCriacao, dataAtualizacao, "
+            + "dataArquivamento) select t.id, t.dono, t.titulo, t.descricao, t.concluida, t.dataCriacao, "
+            + "t.dataAtualizacao, :dataArquivamento "
+            + "from Tarefa t where t.id in :ids")
+    int copiarDeTarefas(@Param("ids") List<Long> ids, @Param("dataArquivamento") LocalDateTime dataArquivamento);
+
+    // The owner's tasks, most recently completed first
+    @Query("select new br.com.liston.api.dto.TarefaResponseDTO(a.id, a.titulo, a.descricao, a.concluida, "
+            + "a.dataCriacao, a.dataAtualizacao) from TarefaArquivada a where a.dono = :dono "
+            + "order by a.dataAtualizacao desc, a.id desc")
+    List<TarefaResponseDTO> listarComoDTO(@Param("dono") String dono, Pageable pagina);
+}
@@ -1,14 +1,55 @@
 package br.com.liston.api.repository;
 
+import br.com.liston.api.dto.TarefaResponseDTO;
 import br.com.liston.api.model.Tarefa;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
 
     // Spring Data JPA automatically creates the query by method name
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Tarefa> findByTituloContainingIgnoreCase(String titulo);
-}
\ No newline at end of file
+
+    // --- List reads: project straight into the response DTO (no managed entities, no snapshots) ---
+    // Scoped by owner and served by idx_tarefas_dono_concluida_criacao.
+    // Results go to the query cache; any write to 'tarefas' invalidates them.
+    // Single lookups use findById instead: the entity region is only evicted for the task that changed
+
+    @Query("select new br.com.liston.api.dto.TarefaResponseDTO(t.id, t.titulo, t.descricao, t.concluida, "
+            + "t.dataCriacao, t.dataAtualizacao) from Tarefa t where t.dono = :dono "
+            + "order by t.concluida, t.dataCriacao, t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TarefaResponseDTO> listarComoDTO(@Param("dono") String dono);
+
+    // --- Used by TarefaArquivador ---
+
+    interface Arquivavel {
+        Long getId();
+
+        String getDono();
+    }
+
+    // Locks the batch so a concurrent update cannot slip in between the copy and the delete
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id as id, t.dono as dono from Tarefa t "
+            + "where t.concluida = true and t.dataAtualizacao < :limite order by t.id")
+    List<Arquivavel> buscarParaArquivar(@Param("limite") LocalDateTime limite, Limit lote);
+
+    @Modifying
+    @Query("delete from Tarefa t where t.id in :ids")
+    int removerPorIds(@Param("ids") List<Long> ids);
+}
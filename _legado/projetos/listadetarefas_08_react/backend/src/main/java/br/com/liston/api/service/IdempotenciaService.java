@@ -0,0 +1,149 @@
+package br.com.liston.api.service;
+
+import br.com.liston.api.dto.TarefaRequestDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import br.com.liston.api.model.ChaveIdempotencia;
+import br.com.liston.api.repository.ChaveIdempotenciaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+// Makes POST /api/tarefas safe to retry: a request replayed with the same Idempotency-Key
+// gets the original response instead of creating a second task.
+// Lookups hit a bounded in-memory cache first and the 'chaves_idempotencia' table second,
+// so a retry that lands on another instance is recognised too.
+@Service
+@Lazy(false) // Its @Scheduled purge must start even with spring.main.lazy-initialization
+public class IdempotenciaService {
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    private final Cache<String, Registro> recentes;
+    private final Duration validade;
+
+    @Autowired
+    private TarefaService tarefaService;
+
+    @Autowired
+    private ChaveIdempotenciaRepository repository;
+
+    @Autowired
+    private TransactionTemplate transacao;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public IdempotenciaService(@Value("${liston.idempotencia.capacidade:10000}") long capacidade,
+                               @Value("${liston.idempotencia.validade-horas:24}") long validadeHoras) {
+        this.validade = Duration.ofHours(validadeHoras);
+        this.recentes = Caffeine.newBuilder()
+                .maximumSize(capacidade)
+                .expireAfterWrite(validade)
+                .build();
+    }
+
+    public TarefaResponseDTO criar(String dono, String chave, TarefaRequestDTO dto) {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException("Idempotency-Key must have 1 to " + TAMANHO_MAXIMO_CHAVE + " characters.");
+        }
+        String id = dono + ":" + chave;
+        String impressao = impressao(dto);
+
+        Registro registro = recentes.getIfPresent(id);
+        boolean expirada = false;
+        if (registro == null) {
+            ChaveIdempotencia salva = repository.findById(id).orElse(null);
+            // The purge only runs every 'limpeza-ms': a row past 'validade-horas' may still be there
+            expirada = salva != null && !valida(salva);
+            registro = salva != null && !expirada ? registro(salva) : null;
+        }
+        if (registro != null) {
+            return repetir(id, registro, impressao);
+        }
+
+        boolean removerExpirada = expirada;
+        try {
+            // The task and its key commit together: a rolled back insert leaves no key behind
+            TarefaResponseDTO criada = transacao.execute(status -> {
+                if (removerExpirada) {
+                    repository.removerSeCriadaAntesDe(id, limiteValidade());
+                }
+                TarefaResponseDTO resposta = tarefaService.criar(dono, dto);
+                repository.saveAndFlush(new ChaveIdempotencia(id, impressao, json(resposta), LocalDateTime.now()));
+                return resposta;
+            });
+            recentes.put(id, new Registro(impressao, criada));
+            return criada;
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key committed first; its task is the one that counts
+            ChaveIdempotencia vencedora = repository.findById(id).filter(this::valida).orElseThrow(() -> e);
+            return repetir(id, registro(vencedora), impressao);
+        }
+    }
+
+    // Keys past their validity leave the table too, so it only holds the last 'validade-horas'
+    @Scheduled(initialDelayString = "${liston.idempotencia.limpeza-ms:3600000}",
+            fixedDelayString = "${liston.idempotencia.limpeza-ms:3600000}")
+    public int removerExpiradas() {
+        return transacao.execute(status -> repository.removerCriadasAntesDe(limiteValidade()));
+    }
+
+    private boolean valida(ChaveIdempotencia chave) {
+        return !chave.getDataCriacao().isBefore(limiteValidade());
+    }
+
+    private LocalDateTime limiteValidade() {
+        return LocalDateTime.now().minus(validade);
+    }
+
+    private TarefaResponseDTO repetir(String id, Registro registro, String impressao) {
+        if (!registro.impressao().equals(impressao)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different request.");
+        }
+        recentes.put(id, registro);
+        return registro.resposta();
+    }
+
+    private Registro registro(ChaveIdempotencia chave) {
+        try {
+            return new Registro(chave.getImpressao(), objectMapper.readValue(chave.getResposta(), TarefaResponseDTO.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is unreadable: " + chave.getId(), e);
+        }
+    }
+
+    private String json(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String impressao(TarefaRequestDTO dto) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json(dto).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Registro(String impressao, TarefaResponseDTO resposta) {
+    }
+}
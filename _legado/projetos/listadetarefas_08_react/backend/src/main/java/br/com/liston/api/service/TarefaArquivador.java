@@ -0,0 +1,72 @@
+package br.com.liston.api.service;
+
+import br.com.liston.api.dto.TarefaEventoDTO;
+import br.com.liston.api.repository.TarefaArquivadaRepository;
+import br.com.liston.api.repository.TarefaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Lazy(false) // Its @Scheduled job must start even with spring.main.lazy-initialization
+@Component // Moves old completed tasks out of 'tarefas' so list and search queries only see the working set
+public class TarefaArquivador {
+
+    private static final Logger log = LoggerFactory.getLogger(TarefaArquivador.class);
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private TarefaArquivadaRepository arquivadaRepository;
+
+    @Autowired // Archived tasks leave the default list, so SSE subscribers get a 'deleted' delta
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private TransactionTemplate transacao;
+
+    @Value("${liston.arquivo.dias:30}") // Completed tasks untouched for longer than this are archived
+    private int dias;
+
+    @Value("${liston.arquivo.lote:500}") // Tasks moved per transaction, keeping locks and undo small
+    private int lote;
+
+    @Scheduled(initialDelayString = "${liston.arquivo.intervalo-ms:3600000}",
+            fixedDelayString = "${liston.arquivo.intervalo-ms:3600000}")
+    public int arquivar() {
+        LocalDateTime limite = LocalDateTime.now().minusDays(dias);
+        int total = 0;
+        int movidas;
+        do {
+            movidas = transacao.execute(status -> arquivarLote(limite));
+            total += movidas;
+        } while (movidas == lote);
+
+        if (total > 0) {
+            log.info("{} completed task(s) archived", total);
+        }
+        return total;
+    }
+
+    private int arquivarLote(LocalDateTime limite) {
+        List<TarefaRepository.Arquivavel> tarefas = tarefaRepository.buscarParaArquivar(limite, Limit.of(lote));
+        if (tarefas.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = tarefas.stream().map(TarefaRepository.Arquivavel::getId).toList();
+        arquivadaRepository.copiarDeTarefas(ids, LocalDateTime.now());
+        tarefaRepository.removerPorIds(ids);
+        tarefas.forEach(tarefa -> eventos.publishEvent(TarefaEventoDTO.removida(tarefa.getDono(), tarefa.getId())));
+        return ids.size();
+    }
+}
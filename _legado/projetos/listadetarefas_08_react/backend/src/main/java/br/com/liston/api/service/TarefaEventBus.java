@@ -0,0 +1,121 @@
+package br.com.liston.api.service;
+
+import br.com.liston.api.dto.TarefaEventoDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component // In-process event bus that fans task deltas out to SSE subscribers
+public class TarefaEventBus {
+
+    // Events buffered per subscriber before it is considered too slow
+    static final int BUFFER_POR_ASSINANTE = 256;
+
+    // Clients (EventSource) reconnect automatically when the stream times out
+    private static final long TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    // Each subscriber drains its own buffer, so a slow client never blocks the writers
+    private final ExecutorService envio = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter assinar(String dono) {
+        return registrar(dono, new SseEmitter(TIMEOUT_MS));
+    }
+
+    SseEmitter registrar(String dono, SseEmitter emitter) {
+        Assinante assinante = new Assinante(dono, emitter);
+        assinantes.add(assinante);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(erro -> assinantes.remove(assinante));
+
+        // A new (or reconnected) client starts from a full reload
+        assinante.enfileirar(TarefaEventoDTO.resync());
+        return emitter;
+    }
+
+    // Runs only after the surrounding transaction commits, so rolled back changes are never streamed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicar(TarefaEventoDTO evento) {
+        for (Assinante assinante : assinantes) {
+            // Each client only hears about its owner's tasks
+            if (evento.dono() == null || evento.dono().equals(assinante.dono)) {
+                assinante.enfileirar(evento);
+            }
+        }
+    }
+
+    public int totalAssinantes() {
+        return assinantes.size();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        assinantes.forEach(assinante -> assinante.emitter.complete());
+        envio.shutdownNow();
+    }
+
+    private final class Assinante {
+        private final String dono;
+        private final SseEmitter emitter;
+        private final BlockingQueue<TarefaEventoDTO> buffer = new ArrayBlockingQueue<>(BUFFER_POR_ASSINANTE);
+        private final AtomicBoolean enviando = new AtomicBoolean(false);
+
+        private Assinante(String dono, SseEmitter emitter) {
+            this.dono = dono;
+            this.emitter = emitter;
+        }
+
+        private void enfileirar(TarefaEventoDTO evento) {
+            if (!buffer.offer(evento)) {
+                synchronized (this) {
+                    // Slow consumer: drops the pending deltas and asks the client to reload everything
+                    if (!buffer.offer(evento)) {
+                        buffer.clear();
+                        buffer.offer(TarefaEventoDTO.resync());
+                    }
+                }
+            }
+            agendarEnvio();
+        }
+
+        private void agendarEnvio() {
+            if (enviando.compareAndSet(false, true)) {
+                envio.execute(this::drenar);
+            }
+        }
+
+        private void drenar() {
+            try {
+                TarefaEventoDTO evento;
+                while ((evento = buffer.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .name(evento.tipo().name().toLowerCase())
+                            .data(evento));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away: stops streaming to it
+                assinantes.remove(this);
+                buffer.clear();
+                return;
+            } finally {
+                enviando.set(false);
+            }
+            // An event may have been queued between the last poll and releasing the flag
+            if (!buffer.isEmpty()) {
+                agendarEnvio();
+            }
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package br.com.liston.api.service;
 
+import br.com.liston.api.dto.TarefaEventoDTO;
 import br.com.liston.api.dto.TarefaRequestDTO;
 import br.com.liston.api.dto.TarefaResponseDTO;
 import br.com.liston.api.model.Tarefa;
+import br.com.liston.api.repository.TarefaArquivadaRepository;
 import br.com.liston.api.repository.TarefaRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service // Marks as a service component (where logic resides)
 public class TarefaService {
@@ -18,31 +21,44 @@ public class TarefaService {
     @Autowired // Repository dependency injection
     private TarefaRepository repository;
 
-    // Fetches all tasks and converts to DTO
+    @Autowired // Completed tasks moved out of 'tarefas' by TarefaArquivador
+    private TarefaArquivadaRepository arquivadaRepository;
+
+    @Autowired // Publishes deltas to TarefaEventBus (delivered after commit)
+    private ApplicationEventPublisher eventos;
+
+    // Every operation is scoped to 'dono' (the caller's JWT subject).
+    // Another owner's task is reported as not found, so its existence is not revealed.
+
+    // Fetches the owner's tasks, projected by the query straight into DTOs
     @Transactional(readOnly = true) // Read-only transaction
-    public List<TarefaResponseDTO> listarTodas() {
-        return repository.findAll()
-                .stream()
-                .map(TarefaResponseDTO::new) // Converts Tarefa -> TarefaResponseDTO
-                .collect(Collectors.toList());
+    public List<TarefaResponseDTO> listarTodas(String dono) {
+        return repository.listarComoDTO(dono);
     }
 
-    // Search by ID
+    // Search by ID, from the second-level cache (read-only transaction: no dirty-checking snapshot)
     @Transactional(readOnly = true)
-    public TarefaResponseDTO buscarPorId(Long id) {
-        Tarefa tarefa = repository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + id));
-        return new TarefaResponseDTO(tarefa);
+    public TarefaResponseDTO buscarPorId(String dono, Long id) {
+        return new TarefaResponseDTO(buscarDoDono(dono, id));
+    }
+
+    // Archived tasks, one page at a time (the archive grows without bound)
+    @Transactional(readOnly = true)
+    public List<TarefaResponseDTO> listarArquivadas(String dono, int page, int size) {
+        if (page < 0 || size < 1 || size > 200) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and 200.");
+        }
+        return arquivadaRepository.listarComoDTO(dono, PageRequest.of(page, size));
     }
 
     // Creates a new task
     @Transactional
-    public TarefaResponseDTO criar(TarefaRequestDTO dto) {
+    public TarefaResponseDTO criar(String dono, TarefaRequestDTO dto) {
         if (dto.titulo() == null || dto.titulo().isBlank()) {
             throw new IllegalArgumentException("Title is required.");
         }
 
-        Tarefa novaTarefa = new Tarefa(dto.titulo(), dto.descricao());
+        Tarefa novaTarefa = new Tarefa(dono, dto.titulo(), dto.descricao());
 
         // If 'concluida' was sent in DTO, use it. Otherwise, keep default (false).
         if (dto.concluida() != null) {
@@ -50,14 +66,15 @@ public class TarefaService {
         }
 
         Tarefa tarefaSalva = repository.save(novaTarefa);
-        return new TarefaResponseDTO(tarefaSalva);
+        TarefaResponseDTO resposta = new TarefaResponseDTO(tarefaSalva);
+        eventos.publishEvent(TarefaEventoDTO.criada(dono, resposta));
+        return resposta;
     }
 
     // Updates an existing task
     @Transactional
-    public TarefaResponseDTO atualizar(Long id, TarefaRequestDTO dto) {
-        Tarefa tarefaExistente = repository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + id));
+    public TarefaResponseDTO atualizar(String dono, Long id, TarefaRequestDTO dto) {
+        Tarefa tarefaExistente = buscarDoDono(dono, id);
 
         // Updates only provided fields
         if (dto.titulo() != null && !dto.titulo().isBlank()) {
@@ -70,16 +87,24 @@ public class TarefaService {
             tarefaExistente.setConcluida(dto.concluida());
         }
 
-        Tarefa tarefaAtualizada = repository.save(tarefaExistente);
-        return new TarefaResponseDTO(tarefaAtualizada);
+        // Flushes so @PreUpdate runs and the published delta carries the new dataAtualizacao
+        Tarefa tarefaAtualizada = repository.saveAndFlush(tarefaExistente);
+        TarefaResponseDTO resposta = new TarefaResponseDTO(tarefaAtualizada);
+        eventos.publishEvent(TarefaEventoDTO.atualizada(dono, resposta));
+        return resposta;
     }
 
     // Deletes a task
     @Transactional
-    public void deletar(Long id) {
-        if (!repository.existsById(id)) {
-            throw new EntityNotFoundException("Task not found with id: " + id);
-        }
-        repository.deleteById(id);
+    public void deletar(String dono, Long id) {
+        repository.delete(buscarDoDono(dono, id));
+        eventos.publishEvent(TarefaEventoDTO.removida(dono, id));
+    }
+
+    // findById is served by the second-level cache; ownership is checked on the loaded entity
+    private Tarefa buscarDoDono(String dono, Long id) {
+        return repository.findById(id)
+                .filter(tarefa -> tarefa.getDono().equals(dono))
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+-- Task schema (H2, 'dev' profile). IF NOT EXISTS: databases created before Flyway are baselined at 0.
+
+CREATE TABLE IF NOT EXISTS tarefas (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    dono_id          VARCHAR(100) NOT NULL,
+    titulo           VARCHAR(150) NOT NULL,
+    descricao        VARCHAR(500),
+    concluida        BOOLEAN      NOT NULL,
+    data_criacao     TIMESTAMP(6) NOT NULL,
+    data_atualizacao TIMESTAMP(6)
+);
+
+-- Completed tasks moved out of 'tarefas' by TarefaArquivador (same ids)
+CREATE TABLE IF NOT EXISTS tarefas_arquivadas (
+    id                BIGINT       NOT NULL PRIMARY KEY,
+    dono_id           VARCHAR(100) NOT NULL,
+    titulo            VARCHAR(150) NOT NULL,
+    descricao         VARCHAR(500),
+    concluida         BOOLEAN      NOT NULL,
+    data_criacao      TIMESTAMP(6) NOT NULL,
+    data_atualizacao  TIMESTAMP(6),
+    data_arquivamento TIMESTAMP(6) NOT NULL
+);
+
+-- Idempotency-Key already used on POST /api/tarefas ("<owner>:<key>")
+CREATE TABLE IF NOT EXISTS chaves_idempotencia (
+    id           VARCHAR(220)  NOT NULL PRIMARY KEY,
+    impressao    VARCHAR(64)   NOT NULL,
+    resposta     VARCHAR(4000) NOT NULL,
+    data_criacao TIMESTAMP(6)  NOT NULL
+);
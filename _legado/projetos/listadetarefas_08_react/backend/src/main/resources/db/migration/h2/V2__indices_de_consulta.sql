@@ -0,0 +1,13 @@
+-- Indexes for the read paths; PlanoDeConsultaTest checks the plans use them.
+
+-- List of an owner's tasks, ordered by status then creation (TarefaRepository.listarComoDTO)
+CREATE INDEX IF NOT EXISTS idx_tarefas_dono_concluida_criacao ON tarefas (dono_id, concluida, data_criacao);
+
+-- TarefaArquivador: completed tasks not updated since a cut-off
+CREATE INDEX IF NOT EXISTS idx_tarefas_concluida_atualizacao ON tarefas (concluida, data_atualizacao);
+
+-- An owner's archive, most recently completed first
+CREATE INDEX IF NOT EXISTS idx_tarefas_arquivadas_dono_atualizacao ON tarefas_arquivadas (dono_id, data_atualizacao);
+
+-- Hourly purge of expired idempotency keys
+CREATE INDEX IF NOT EXISTS idx_chaves_idempotencia_criacao ON chaves_idempotencia (data_criacao);
@@ -0,0 +1,16 @@
+-- Indexes for the read paths; PlanoDeConsultaTest checks the plans use them.
+-- CONCURRENTLY keeps the tables writable while an existing database is indexed
+-- (runs outside a transaction, see V2__indices_de_consulta.sql.conf).
+
+-- List of an owner's tasks, ordered by status then creation (TarefaRepository.listarComoDTO)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tarefas_dono_concluida_criacao ON tarefas (dono_id, concluida, data_criacao);
+
+-- TarefaArquivador: completed tasks not updated since a cut-off; only completed rows are indexed
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tarefas_concluida_atualizacao ON tarefas (data_atualizacao) WHERE concluida;
+
+-- An owner's archive, most recently completed first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tarefas_arquivadas_dono_atualizacao ON tarefas_arquivadas (dono_id, data_atualizacao);
+
+-- Hourly purge of expired idempotency keys
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chaves_idempotencia_criacao ON chaves_idempotencia (data_criacao);
+
@@ -0,0 +1,135 @@
+package br.com.liston.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Time to first request of the packaged API, started as a separate JVM: from process start
+ * until GET /api/tarefas (with a dev token) answers 200. Needs the 'startup' build first:
+ *
+ *   ./mvnw -Pstartup package -DskipTests
+ *   ./mvnw test -Dtest=InicializacaoBenchmark -Dtestes.excluidos=none
+ *
+ * Measured on a single-CPU machine (median of 5, first request): JVM default 25.7 s, CDS 17.9 s,
+ * AOT + CDS 13.0 s, AOT + CDS + lazy init 14.1 s.
+ */
+@Tag("benchmark")
+class InicializacaoBenchmark {
+
+    private static final Path APP = Path.of("target", "app");
+    private static final int EXECUCOES = 5;
+    private static final long LIMITE_NS = TimeUnit.SECONDS.toNanos(60);
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void executar() throws Exception {
+        Path jar = jarExtraido();
+        assumeTrue(jar != null, "Run ./mvnw -Pstartup package first");
+
+        System.out.printf("%-24s %12s %12s%n", "Variant", "ready (ms)", "first (ms)");
+        medir(jar, "JVM default", List.of(), List.of());
+        medir(jar, "CDS", List.of("-XX:SharedArchiveFile=" + APP.resolve("api-jvm.jsa")), List.of());
+        List<String> aotCds = List.of("-XX:SharedArchiveFile=" + APP.resolve("api-aot.jsa"), "-Dspring.aot.enabled=true");
+        medir(jar, "AOT + CDS", aotCds, List.of());
+        medir(jar, "AOT + CDS + lazy init", aotCds, List.of("--spring.main.lazy-initialization=true"));
+    }
+
+    // Median of EXECUCOES cold starts: when /actuator/health is up, and when the first task list is served
+    private void medir(Path jar, String variante, List<String> opcoesJvm, List<String> argumentos) throws Exception {
+        long[] pronto = new long[EXECUCOES];
+        long[] primeira = new long[EXECUCOES];
+        for (int i = 0; i < EXECUCOES; i++) {
+            long[] tempos = iniciar(jar, opcoesJvm, argumentos);
+            pronto[i] = tempos[0];
+            primeira[i] = tempos[1];
+        }
+        System.out.printf("%-24s %12d %12d%n", variante, mediana(pronto), mediana(primeira));
+    }
+
+    private long[] iniciar(Path jar, List<String> opcoesJvm, List<String> argumentos) throws Exception {
+        int porta = portaLivre();
+        List<String> comando = new ArrayList<>();
+        comando.add(ProcessHandle.current().info().command().orElse("java"));
+        comando.addAll(opcoesJvm);
+        comando.addAll(List.of("-jar", jar.toString(), "--server.port=" + porta));
+        comando.addAll(argumentos);
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            String base = "http://localhost:" + porta;
+            aguardar(HttpRequest.newBuilder(URI.create(base + "/actuator/health")).build(), inicio);
+            long pronto = System.nanoTime() - inicio;
+
+            HttpResponse<String> token = http.send(HttpRequest.newBuilder(URI.create(base + "/api/auth/token?usuario=demo"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            String jwt = objectMapper.readTree(token.body()).get("token").asText();
+            aguardar(HttpRequest.newBuilder(URI.create(base + "/api/tarefas"))
+                    .header("Authorization", "Bearer " + jwt).build(), inicio);
+            long primeira = System.nanoTime() - inicio;
+
+            return new long[]{TimeUnit.NANOSECONDS.toMillis(pronto), TimeUnit.NANOSECONDS.toMillis(primeira)};
+        } finally {
+            processo.destroy();
+            processo.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void aguardar(HttpRequest request, long inicio) throws Exception {
+        while (System.nanoTime() - inicio < LIMITE_NS) {
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("API did not answer " + request.uri());
+    }
+
+    private static Path jarExtraido() throws IOException {
+        if (!Files.isDirectory(APP)) {
+            return null;
+        }
+        try (Stream<Path> arquivos = Files.list(APP)) {
+            return arquivos.filter(arquivo -> arquivo.toString().endsWith(".jar")).findFirst().orElse(null);
+        }
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long mediana(long[] valores) {
+        long[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        return ordenados[ordenados.length / 2];
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.liston.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the CRUD flow over HTTP against the native executable and the JVM jar, and reports
+ * startup time and resident memory (VmRSS, Linux only) of each. Needs both builds first:
+ *
+ *   ./mvnw package -DskipTests
+ *   ./mvnw -Pnative native:compile -DskipTests   (GraalVM as JAVA_HOME)
+ *   ./mvnw test -Dtest=NativoSmokeTest -Dtestes.excluidos=none
+ */
+@Tag("benchmark")
+class NativoSmokeTest {
+
+    private static final Path NATIVO = Path.of("target", "api");
+    private static final Path JAR = Path.of("target", "api-0.0.1-SNAPSHOT.jar");
+    private static final long LIMITE_NS = TimeUnit.SECONDS.toNanos(60);
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void executar() throws Exception {
+        assumeTrue(Files.isExecutable(NATIVO), "Run ./mvnw -Pnative native:compile first");
+
+        System.out.printf("%-8s %14s %10s %18s%n", "Build", "startup (ms)", "RSS (MB)", "RSS after CRUD (MB)");
+        verificar("native", List.of(NATIVO.toString()));
+        if (Files.exists(JAR)) {
+            verificar("JVM", List.of(ProcessHandle.current().info().command().orElse("java"), "-jar", JAR.toString()));
+        }
+    }
+
+    private void verificar(String build, List<String> executavel) throws Exception {
+        int porta = portaLivre();
+        List<String> comando = new ArrayList<>(executavel);
+        comando.add("--server.port=" + porta);
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            String base = "http://localhost:" + porta;
+            aguardarSaude(base);
+            long inicializacao = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            long rssInicial = rssMb(processo.pid());
+
+            crud(base);
+            System.out.printf("%-8s %14d %10d %18d%n", build, inicializacao, rssInicial, rssMb(processo.pid()));
+        } finally {
+            processo.destroy();
+            processo.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    // The same flow as the controller tests: create, list, read, update, delete
+    private void crud(String base) throws Exception {
+        HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(URI.create(base + "/api/auth/token?usuario=smoke"))
+                .POST(HttpRequest.BodyPublishers.noBody()), null);
+        assertEquals(200, resposta.statusCode());
+        String token = objectMapper.readTree(resposta.body()).get("token").asText();
+        String tarefas = base + "/api/tarefas";
+
+        resposta = enviar(json(tarefas).POST(corpo("{\"titulo\":\"Native smoke\"}")), token);
+        assertEquals(201, resposta.statusCode());
+        JsonNode criada = objectMapper.readTree(resposta.body());
+        String tarefa = tarefas + "/" + criada.get("id").asLong();
+
+        resposta = enviar(HttpRequest.newBuilder(URI.create(tarefas)), token);
+        assertEquals(200, resposta.statusCode());
+        assertEquals(1, objectMapper.readTree(resposta.body()).size());
+
+        assertEquals(200, enviar(HttpRequest.newBuilder(URI.create(tarefa)), token).statusCode());
+
+        resposta = enviar(json(tarefa).PUT(corpo("{\"concluida\":true}")), token);
+        assertEquals(200, resposta.statusCode());
+        assertEquals(true, objectMapper.readTree(resposta.body()).get("concluida").asBoolean());
+
+        assertEquals(204, enviar(HttpRequest.newBuilder(URI.create(tarefa)).DELETE(), token).statusCode());
+        assertEquals(404, enviar(HttpRequest.newBuilder(URI.create(tarefa)), token).statusCode());
+    }
+
+    private HttpResponse<String> enviar(HttpRequest.Builder request, String token) throws Exception {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest.Builder json(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher corpo(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+
+    private void aguardarSaude(String base) throws Exception {
+        HttpRequest saude = HttpRequest.newBuilder(URI.create(base + "/actuator/health")).build();
+        long inicio = System.nanoTime();
+        while (System.nanoTime() - inicio < LIMITE_NS) {
+            try {
+                if (http.send(saude, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("API did not start");
+    }
+
+    private static long rssMb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(linha -> linha.startsWith("VmRSS:"))
+                .mapToLong(linha -> Long.parseLong(linha.replaceAll("\\D", "")) / 1024)
+                .findFirst()
+                .orElse(-1);
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.liston.api.benchmark;
+
+import br.com.liston.api.ApiApplication;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import br.com.liston.api.model.Tarefa;
+import br.com.liston.api.repository.TarefaRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Listing read path: managed entities mapped to DTOs (before) vs. a JPQL constructor projection (after).
+ * The second-level and query caches are off, so both variants hit the database.
+ * Allocation per call is reported by the GC profiler as gc.alloc.rate.norm.
+ * Left out of the default test run; to run it:
+ *
+ *   ./mvnw test -Dtest=TarefaLeituraBenchmark -Dtestes.excluidos=none
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TarefaLeituraBenchmark {
+
+    private static final int TAREFAS = 1_000;
+    private static final String DONO = "benchmark";
+
+    private ConfigurableApplicationContext context;
+    private TarefaRepository repository;
+    private TransactionTemplate leitura;
+
+    @Setup
+    public void iniciar() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "--liston.jwt.segredo=benchmark-secret-0123456789abcdef0123",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false");
+        repository = context.getBean(TarefaRepository.class);
+        leitura = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        leitura.setReadOnly(true);
+
+        List<Tarefa> tarefas = new ArrayList<>(TAREFAS);
+        for (int i = 1; i <= TAREFAS; i++) {
+            tarefas.add(new Tarefa(DONO, "Task " + i, "Description of task " + i));
+        }
+        repository.saveAll(tarefas);
+    }
+
+    @TearDown
+    public void encerrar() {
+        context.close();
+    }
+
+    // The former TarefaService.listarTodas (before owner scoping)
+    @Benchmark
+    public List<TarefaResponseDTO> entidadesMapeadas() {
+        return leitura.execute(status -> repository.findAll()
+                .stream()
+                .map(TarefaResponseDTO::new)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<TarefaResponseDTO> projecaoDTO() {
+        return leitura.execute(status -> repository.listarComoDTO(DONO));
+    }
+
+    @Test
+    void executar() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TarefaLeituraBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
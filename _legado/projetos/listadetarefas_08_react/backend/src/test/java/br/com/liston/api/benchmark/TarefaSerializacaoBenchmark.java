@@ -0,0 +1,111 @@
+package br.com.liston.api.benchmark;
+
+import br.com.liston.api.config.CborConfig;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON vs CBOR serialization cost per TarefaResponseDTO, using the same mapper setup as the API.
+ * Left out of the default test run; to run it:
+ *
+ *   ./mvnw test -Dtest=TarefaSerializacaoBenchmark -Dtestes.excluidos=none
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TarefaSerializacaoBenchmark {
+
+    private static final int TAREFAS_POR_LISTA = 100;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private TarefaResponseDTO tarefa;
+    private List<TarefaResponseDTO> lista;
+
+    @Setup
+    public void preparar() {
+        // Same settings Spring Boot applies to the JSON converter
+        json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cbor = new CborConfig().cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+        lista = tarefas(TAREFAS_POR_LISTA);
+        tarefa = lista.get(0);
+    }
+
+    @Benchmark
+    public byte[] jsonUmaTarefa() throws IOException {
+        return json.writeValueAsBytes(tarefa);
+    }
+
+    @Benchmark
+    public byte[] cborUmaTarefa() throws IOException {
+        return cbor.writeValueAsBytes(tarefa);
+    }
+
+    @Benchmark
+    public byte[] jsonLista() throws IOException {
+        return json.writeValueAsBytes(lista);
+    }
+
+    @Benchmark
+    public byte[] cborLista() throws IOException {
+        return cbor.writeValueAsBytes(lista);
+    }
+
+    @Test
+    void executar() throws Exception {
+        imprimirTamanhos();
+        new Runner(new OptionsBuilder()
+                .include(TarefaSerializacaoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // Wire size per format, with and without the gzip applied to responses above server.compression.min-response-size
+    private void imprimirTamanhos() throws IOException {
+        preparar();
+        System.out.printf("%-14s %10s %10s%n", "payload", "bytes", "gzip");
+        imprimir("json (1)", json.writeValueAsBytes(tarefa));
+        imprimir("cbor (1)", cbor.writeValueAsBytes(tarefa));
+        imprimir("json (" + TAREFAS_POR_LISTA + ")", json.writeValueAsBytes(lista));
+        imprimir("cbor (" + TAREFAS_POR_LISTA + ")", cbor.writeValueAsBytes(lista));
+    }
+
+    private static void imprimir(String nome, byte[] corpo) throws IOException {
+        ByteArrayOutputStream compactado = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compactado)) {
+            gzip.write(corpo);
+        }
+        System.out.printf("%-14s %10d %10d%n", nome, corpo.length, compactado.size());
+    }
+
+    private static List<TarefaResponseDTO> tarefas(int quantidade) {
+        List<TarefaResponseDTO> tarefas = new ArrayList<>(quantidade);
+        LocalDateTime criacao = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000);
+        for (long id = 1; id <= quantidade; id++) {
+            LocalDateTime atualizacao = criacao.plusMinutes(id).plusNanos(id * 1_000);
+            tarefas.add(new TarefaResponseDTO(id, "Study topic " + id, "Read chapter " + id + " and take notes",
+                    id % 3 == 0, criacao, atualizacao));
+        }
+        return tarefas;
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.liston.api.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteFalhasAutenticacaoFilterTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final LimiteFalhasAutenticacaoFilter filtro = new LimiteFalhasAutenticacaoFilter(3, 1, relogio::get);
+    private final AtomicInteger autenticacoes = new AtomicInteger();
+
+    @Test
+    void tokensRecusados_BloqueiamOIpAntesDaAutenticacao() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(401, enviar("10.0.0.1", 401).getStatus());
+        }
+        MockHttpServletResponse recusada = enviar("10.0.0.1", 200);
+        assertEquals(429, recusada.getStatus());
+        assertEquals("1", recusada.getHeader("Retry-After"));
+        assertEquals(3, autenticacoes.get()); // The blocked request never reached authentication
+
+        // Another address is not affected; one failure is forgiven after a second
+        assertEquals(200, enviar("10.0.0.2", 200).getStatus());
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(200, enviar("10.0.0.1", 200).getStatus());
+    }
+
+    @Test
+    void requisicoesAutenticadas_NaoGastamOBalde() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, enviar("10.0.0.1", 200).getStatus());
+        }
+        assertEquals(0, filtro.totalBaldes());
+    }
+
+    // 'status' is what authentication and the rest of the chain answer
+    private MockHttpServletResponse enviar(String ip, int status) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tarefas");
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain autenticacao = (req, res) -> {
+            autenticacoes.incrementAndGet();
+            response.setStatus(status);
+        };
+        filtro.doFilter(request, response, autenticacao);
+        return response;
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.liston.api.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteRequisicoesFilterTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final LimiteRequisicoesFilter filtro = new LimiteRequisicoesFilter(3, 1, relogio::get);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void acimaDoLimite_Retorna429ComRetryAfter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, enviar("10.0.0.1").getStatus());
+        }
+        MockHttpServletResponse recusada = enviar("10.0.0.1");
+        assertEquals(429, recusada.getStatus());
+        assertEquals("1", recusada.getHeader("Retry-After"));
+
+        // Another client has its own bucket
+        assertEquals(200, enviar("10.0.0.2").getStatus());
+
+        // One token is back after a second
+        avancar(1000);
+        assertEquals(200, enviar("10.0.0.1").getStatus());
+        assertEquals(429, enviar("10.0.0.1").getStatus());
+    }
+
+    @Test
+    void usuarioAutenticado_ContaPorSubjectENaoPorIp() throws Exception {
+        autenticar("alice");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, enviar("10.0.0." + i).getStatus());
+        }
+        assertEquals(429, enviar("10.0.0.9").getStatus());
+
+        autenticar("bob");
+        assertEquals(200, enviar("10.0.0.9").getStatus());
+    }
+
+    @Test
+    void baldesOciosos_SaoRemovidos() throws Exception {
+        enviar("10.0.0.1");
+        enviar("10.0.0.2");
+        assertEquals(2, filtro.totalBaldes());
+
+        avancar(TimeUnit.MINUTES.toMillis(2));
+        enviar("10.0.0.3");
+        assertEquals(1, filtro.totalBaldes());
+    }
+
+    @Test
+    void foraDaApi_NaoELimitado() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filtro.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+        assertEquals(0, filtro.totalBaldes());
+    }
+
+    private MockHttpServletResponse enviar(String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tarefas");
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void avancar(long ms) {
+        relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+
+    private static void autenticar(String usuario) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "HS256").subject(usuario).build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+}
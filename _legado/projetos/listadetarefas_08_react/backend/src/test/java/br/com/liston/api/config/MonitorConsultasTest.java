@@ -0,0 +1,54 @@
+package br.com.liston.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Threshold 0: every statement counts as slow, so each one is logged
+@SpringBootTest(properties = "liston.sql.limite-lenta-ms=0")
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class MonitorConsultasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void consultaLenta_LogadaEmJsonSemValoresEContadaPorRequisicao(CapturedOutput saida) throws Exception {
+        String dono = "sql-" + UUID.randomUUID();
+        mockMvc.perform(get("/api/tarefas").with(jwt().jwt(t -> t.subject(dono))))
+                .andExpect(status().isOk());
+
+        String linha = saida.getOut().lines()
+                .filter(l -> l.contains("liston.sql.lenta") && l.contains("GET /api/tarefas"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No slow query line logged"));
+        assertTrue(linha.contains("\"type\":\"SELECT\""), linha);
+        assertTrue(linha.contains("\"params\":1"), linha);
+        assertFalse(linha.contains(dono), "Bind values must not be logged");
+
+        DistributionSummary porRequisicao = registry.find("jdbc.queries.per.request")
+                .tags("method", "GET", "uri", "/api/tarefas")
+                .summary();
+        assertNotNull(porRequisicao);
+        assertTrue(porRequisicao.totalAmount() >= 1);
+        assertTrue(registry.find("jdbc.queries").tag("type", "SELECT").counter().count() >= 1);
+    }
+}
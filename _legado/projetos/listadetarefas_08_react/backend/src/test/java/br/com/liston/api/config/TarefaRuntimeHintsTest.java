@@ -0,0 +1,75 @@
+package br.com.liston.api.config;
+
+import br.com.liston.api.dto.TarefaEventoDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.SimpleResultSetProxyLogicFactory;
+import net.ttddyy.dsproxy.proxy.jdk.JdkJdbcProxyFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class TarefaRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    TarefaRuntimeHintsTest() {
+        new TarefaRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void projecaoJpql_PodeInstanciarODto() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(TarefaResponseDTO.class.getConstructor(Long.class, String.class, String.class,
+                        boolean.class, LocalDateTime.class, LocalDateTime.class))
+                .test(hints));
+    }
+
+    @Test
+    void cacheESerializacao_EstaoRegistrados() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TarefaEventoDTO.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider")).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("application.conf").test(hints));
+    }
+
+    @Test
+    void migracoesDoFlyway_EmSubpastasPorBanco() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/h2/V1__criar_tabelas.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/postgresql/V2__indices_de_consulta.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("db/migration/postgresql/V2__indices_de_consulta.sql.conf").test(hints));
+    }
+
+    @Test
+    void proxiesDoDatasourceProxy_EstaoRegistrados() throws Exception {
+        // The same interfaces, in the same order, that datasource-proxy passes to Proxy.newProxyInstance
+        JdkJdbcProxyFactory fabrica = new JdkJdbcProxyFactory();
+        ProxyConfig config = ProxyConfig.Builder.create()
+                .resultSetProxyLogicFactory(new SimpleResultSetProxyLogicFactory())
+                .build();
+        Connection conexao = fabrica.createConnection(mock(Connection.class), new ConnectionInfo(), config);
+        for (Object proxy : List.of(conexao,
+                fabrica.createStatement(mock(Statement.class), new ConnectionInfo(), conexao, config),
+                fabrica.createPreparedStatement(mock(PreparedStatement.class), "select 1", new ConnectionInfo(),
+                        conexao, config, false),
+                fabrica.createCallableStatement(mock(CallableStatement.class), "call x()", new ConnectionInfo(), conexao, config),
+                fabrica.createResultSet(mock(ResultSet.class), new ConnectionInfo(), config))) {
+            assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(proxy.getClass().getInterfaces()).test(hints),
+                    List.of(proxy.getClass().getInterfaces()).toString());
+        }
+    }
+}
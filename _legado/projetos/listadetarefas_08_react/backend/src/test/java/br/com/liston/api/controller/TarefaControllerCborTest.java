@@ -0,0 +1,91 @@
+package br.com.liston.api.controller;
+
+import br.com.liston.api.dto.TarefaRequestDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import br.com.liston.api.service.TarefaService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TarefaControllerCborTest {
+
+    private static final String CBOR = "application/cbor";
+    private static final String DONO = "alice";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TarefaService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static RequestPostProcessor dono() {
+        return jwt().jwt(token -> token.subject(DONO));
+    }
+
+    private final ObjectMapper cborMapper = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+
+    @Test
+    void listar_ComAcceptCbor_RetornaMesmasTarefasEmMenosBytes() throws Exception {
+        for (int i = 1; i <= 50; i++) {
+            service.criar(DONO, new TarefaRequestDTO("Task " + i, "Description of task " + i, i % 3 == 0));
+        }
+
+        byte[] json = mockMvc.perform(get("/api/tarefas").with(dono()).accept("application/json"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/api/tarefas").with(dono()).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<TarefaResponseDTO> deJson = objectMapper.readValue(json, new TypeReference<>() {});
+        List<TarefaResponseDTO> deCbor = cborMapper.readValue(cbor, new TypeReference<>() {});
+        assertEquals(deJson, deCbor);
+        assertTrue(cbor.length < json.length, "CBOR " + cbor.length + " bytes vs JSON " + json.length);
+        // Plain CBOR by default: no stringref-namespace tag (256 = 0xD9 0x01 0x00) for generic decoders to trip on
+        assertFalse(contemTag256(cbor));
+    }
+
+    private static boolean contemTag256(byte[] cbor) {
+        for (int i = 0; i + 2 < cbor.length; i++) {
+            if ((cbor[i] & 0xFF) == 0xD9 && cbor[i + 1] == 0x01 && cbor[i + 2] == 0x00) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void criar_ComCorpoCbor_AceitaERespondeEmCbor() throws Exception {
+        byte[] corpo = cborMapper.writeValueAsBytes(new TarefaRequestDTO("Binary task", null, false));
+
+        byte[] resposta = mockMvc.perform(post("/api/tarefas").with(dono()).contentType(CBOR).accept(CBOR).content(corpo))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TarefaResponseDTO criada = cborMapper.readValue(resposta, TarefaResponseDTO.class);
+        assertEquals("Binary task", criada.titulo());
+        assertNotNull(criada.dataCriacao());
+    }
+}
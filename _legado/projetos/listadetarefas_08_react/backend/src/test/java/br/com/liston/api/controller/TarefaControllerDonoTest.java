@@ -0,0 +1,94 @@
+package br.com.liston.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TarefaControllerDonoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void semToken_Retorna401() throws Exception {
+        mockMvc.perform(get("/api/tarefas")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void tokenInvalido_ContaComoFalhaPorIp() throws Exception {
+        // The failure limit (liston.limite.falhas.capacidade=20) sits before token validation
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(get("/api/tarefas").header("Authorization", "Bearer invalido")
+                            .with(request -> { request.setRemoteAddr("10.9.9.9"); return request; }))
+                    .andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(get("/api/tarefas").header("Authorization", "Bearer " + token("alice"))
+                        .with(request -> { request.setRemoteAddr("10.9.9.9"); return request; }))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void tarefas_SoSaoVisiveisAoDono() throws Exception {
+        String alice = token("alice");
+        String bob = token("bob");
+
+        String criada = mockMvc.perform(post("/api/tarefas")
+                        .header("Authorization", "Bearer " + alice)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"titulo\": \"Alice's task\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        int id = objectMapper.readTree(criada).get("id").asInt();
+
+        mockMvc.perform(get("/api/tarefas").header("Authorization", "Bearer " + alice))
+                .andExpect(jsonPath("$[*].id", hasItem(id)));
+        mockMvc.perform(get("/api/tarefas").header("Authorization", "Bearer " + bob))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(id))));
+
+        // Another owner's task looks like a missing one
+        mockMvc.perform(get("/api/tarefas/" + id).header("Authorization", "Bearer " + bob))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/tarefas/" + id).header("Authorization", "Bearer " + bob))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tarefas/" + id).header("Authorization", "Bearer " + alice))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void tokenNaQuery_SoEAceitoNoStream() throws Exception {
+        String alice = token("alice");
+
+        mockMvc.perform(get("/api/tarefas").param("access_token", alice))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/tarefas/stream").param("access_token", alice))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    // Signed by DevTokenController and validated by the real JwtDecoder
+    private String token(String usuario) throws Exception {
+        String resposta = mockMvc.perform(post("/api/auth/token").param("usuario", usuario))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(resposta);
+        return json.get("token").asText();
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.liston.api.repository;
+
+import br.com.liston.api.config.MonitorConsultas;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Runs the repository methods behind the main reads against tables seeded with enough rows that a full
+// scan would matter, captures the SQL Hibernate sent through the datasource-proxy listener (MonitorConsultas)
+// and EXPLAINs that statement with the same bind values. Fails if the plan reads a whole table instead of
+// the index the migrations created.
+// Runs on the active profile's database: H2 by default; with the production profile the same checks
+// cover the PostgreSQL scripts
+@SpringBootTest
+class PlanoDeConsultaTest {
+
+    private static final int LINHAS = 20_000;
+    private static final int DONOS = 200;
+    private static final String PREFIXO = "plano-";
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private TarefaArquivadaRepository arquivadaRepository;
+
+    @Autowired
+    private ChaveIdempotenciaRepository chaveRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoSpyBean
+    private MonitorConsultas monitor;
+
+    private Long idSemeado;
+
+    @BeforeEach
+    void semear() {
+        LocalDateTime agora = LocalDateTime.now();
+        List<Object[]> tarefas = new ArrayList<>(LINHAS);
+        List<Object[]> arquivadas = new ArrayList<>(LINHAS);
+        for (int i = 0; i < LINHAS; i++) {
+            Timestamp criacao = Timestamp.valueOf(agora.minusMinutes(i));
+            tarefas.add(new Object[]{PREFIXO + (i % DONOS), "Task " + i, i % 3 == 0, criacao, criacao});
+            arquivadas.add(new Object[]{-1L - i, PREFIXO + (i % DONOS), "Task " + i, criacao, criacao, criacao});
+        }
+        jdbc.batchUpdate("insert into tarefas (dono_id, titulo, concluida, data_criacao, data_atualizacao) "
+                + "values (?, ?, ?, ?, ?)", tarefas);
+        jdbc.batchUpdate("insert into tarefas_arquivadas (id, dono_id, titulo, concluida, data_criacao, "
+                + "data_atualizacao, data_arquivamento) values (?, ?, ?, true, ?, ?, ?)", arquivadas);
+        idSemeado = jdbc.queryForObject("select max(id) from tarefas where dono_id like ?", Long.class, PREFIXO + "%");
+        // The rows were written behind Hibernate's back: empty the caches so the calls below reach the database
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void limpar() {
+        jdbc.update("delete from tarefas where dono_id like ?", PREFIXO + "%");
+        jdbc.update("delete from tarefas_arquivadas where dono_id like ?", PREFIXO + "%");
+    }
+
+    @Test
+    void listagemDoDono_UsaIndiceDoDono() {
+        QueryInfo consulta = capturar("tarefas", () -> tarefaRepository.listarComoDTO(PREFIXO + 7));
+        assertUsaIndice("idx_tarefas_dono_concluida_criacao", consulta);
+    }
+
+    @Test
+    void buscaPorId_UsaChavePrimaria() {
+        QueryInfo consulta = capturar("tarefas", () -> tarefaRepository.findById(idSemeado));
+        assertUsaIndice("primary_key", consulta);
+    }
+
+    @Test
+    void loteDoArquivador_UsaIndiceDeConcluidas() {
+        // Same call as TarefaArquivador: Limit + PESSIMISTIC_WRITE, so the statement carries the row limit and FOR UPDATE
+        QueryInfo consulta = capturar("tarefas", () -> new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> tarefaRepository.buscarParaArquivar(LocalDateTime.now().minusDays(7), Limit.of(500))));
+        assertTrue(consulta.getQuery().toLowerCase().contains("for update"), consulta.getQuery());
+        assertUsaIndice("idx_tarefas_concluida_atualizacao", consulta);
+    }
+
+    @Test
+    void arquivoDoDono_UsaIndiceDoArquivo() {
+        QueryInfo consulta = capturar("tarefas_arquivadas",
+                () -> arquivadaRepository.listarComoDTO(PREFIXO + 7, PageRequest.of(0, 50)));
+        assertUsaIndice("idx_tarefas_arquivadas_dono_atualizacao", consulta);
+    }
+
+    @Test
+    void limpezaDeChaves_UsaIndiceDeCriacao() {
+        QueryInfo consulta = capturar("chaves_idempotencia", () -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> chaveRepository.removerCriadasAntesDe(LocalDateTime.of(2020, 1, 1, 0, 0))));
+        assertUsaIndice("idx_chaves_idempotencia_criacao", consulta);
+    }
+
+    // The single statement 'chamada' sent against 'tabela', as the proxy saw it (SQL and bind calls)
+    @SuppressWarnings("unchecked")
+    private QueryInfo capturar(String tabela, Runnable chamada) {
+        clearInvocations(monitor);
+        chamada.run();
+        ArgumentCaptor<List<QueryInfo>> consultas = ArgumentCaptor.forClass(List.class);
+        verify(monitor, atLeastOnce()).registrar(any(), consultas.capture());
+        List<QueryInfo> naTabela = consultas.getAllValues().stream()
+                .flatMap(List::stream)
+                .filter(consulta -> consulta.getQuery().toLowerCase().matches("(?s).*\\bfrom " + tabela + "\\b.*"))
+                .toList();
+        assertEquals(1, naTabela.size(), () -> "Expected one statement on " + tabela + ": " + naTabela);
+        return naTabela.get(0);
+    }
+
+    // H2 marks a full read as "tableScan", PostgreSQL as "Seq Scan"
+    private void assertUsaIndice(String indice, QueryInfo consulta) {
+        List<ParameterSetOperation> parametros =
+                consulta.getParametersList().isEmpty() ? List.of() : consulta.getParametersList().get(0);
+        String plano = String.join("\n", jdbc.query("explain " + consulta.getQuery(), ps -> {
+            // Replays the setXxx calls Hibernate made on the original statement
+            for (ParameterSetOperation parametro : parametros) {
+                try {
+                    parametro.getMethod().invoke(ps, parametro.getArgs());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Could not bind " + parametro.getMethod().getName(), e);
+                }
+            }
+        }, (rs, linha) -> rs.getString(1)));
+        assertFalse(plano.contains("tableScan") || plano.contains("Seq Scan"), "Full table scan:\n" + plano);
+        assertTrue(plano.toLowerCase().contains(indice), "Expected " + indice + ":\n" + plano);
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.liston.api.service;
+
+import br.com.liston.api.dto.TarefaRequestDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import br.com.liston.api.repository.TarefaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IdempotenciaServiceTest {
+
+    @Autowired
+    private IdempotenciaService idempotencia;
+
+    @Autowired
+    private TarefaRepository repository;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void criar_MesmaChave_DevolveARespostaOriginalSemNovoInsert() {
+        String dono = "idem-" + UUID.randomUUID();
+        TarefaRequestDTO dto = new TarefaRequestDTO("Pay rent", null, null);
+
+        TarefaResponseDTO original = idempotencia.criar(dono, "chave-1", dto);
+        TarefaResponseDTO repetida = idempotencia.criar(dono, "chave-1", dto);
+
+        assertEquals(original, repetida);
+        assertEquals(1, repository.listarComoDTO(dono).size());
+
+        // The key is scoped to its owner and bound to the original body
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencia.criar(dono, "chave-1", new TarefaRequestDTO("Pay bills", null, null)));
+        assertNotEquals(original.id(), idempotencia.criar("outro-" + dono, "chave-1", dto).id());
+    }
+
+    @Test
+    void criar_OutraInstancia_EncontraAChaveNoBanco() {
+        String dono = "idem-" + UUID.randomUUID();
+        TarefaRequestDTO dto = new TarefaRequestDTO("Renew passport", "Before June", false);
+        TarefaResponseDTO original = idempotencia.criar(dono, "chave-2", dto);
+
+        // A second service has an empty in-memory cache, like another API instance
+        IdempotenciaService outraInstancia = beanFactory.createBean(IdempotenciaService.class);
+
+        assertEquals(original, outraInstancia.criar(dono, "chave-2", dto));
+        assertEquals(1, repository.listarComoDTO(dono).size());
+    }
+
+    @Test
+    void criar_ChaveNoBancoAlemDaValidade_NaoERepetida() {
+        String dono = "idem-" + UUID.randomUUID();
+        TarefaRequestDTO dto = new TarefaRequestDTO("Water plants", null, null);
+        TarefaResponseDTO original = idempotencia.criar(dono, "chave-4", dto);
+        // Older than validade-horas (24) but not purged yet
+        jdbc.update("update chaves_idempotencia set data_criacao = ? where id = ?",
+                LocalDateTime.now().minusHours(25), dono + ":chave-4");
+
+        IdempotenciaService outraInstancia = beanFactory.createBean(IdempotenciaService.class);
+        TarefaResponseDTO nova = outraInstancia.criar(dono, "chave-4", dto);
+
+        assertNotEquals(original.id(), nova.id());
+        assertEquals(2, repository.listarComoDTO(dono).size());
+        // The key now belongs to the new task
+        assertEquals(nova, beanFactory.createBean(IdempotenciaService.class).criar(dono, "chave-4", dto));
+    }
+
+    @Test
+    void criar_RequisicoesConcorrentes_CriamUmaSoTarefa() throws Exception {
+        String dono = "idem-" + UUID.randomUUID();
+        TarefaRequestDTO dto = new TarefaRequestDTO("Book flights", null, null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<TarefaResponseDTO>> envios = IntStream.range(0, 8)
+                    .mapToObj(i -> (Callable<TarefaResponseDTO>) () -> idempotencia.criar(dono, "chave-3", dto))
+                    .toList();
+            Set<Long> ids = executor.invokeAll(envios).stream()
+                    .map(IdempotenciaServiceTest::resultado)
+                    .map(TarefaResponseDTO::id)
+                    .collect(Collectors.toSet());
+
+            assertEquals(1, ids.size());
+            assertEquals(1, repository.listarComoDTO(dono).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void criar_ChaveInvalida_LancaExcecao() {
+        TarefaRequestDTO dto = new TarefaRequestDTO("Task", null, null);
+        assertThrows(IllegalArgumentException.class, () -> idempotencia.criar("demo", " ", dto));
+        assertThrows(IllegalArgumentException.class, () -> idempotencia.criar("demo", "x".repeat(101), dto));
+    }
+
+    private static TarefaResponseDTO resultado(Future<TarefaResponseDTO> futuro) {
+        try {
+            return futuro.get();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
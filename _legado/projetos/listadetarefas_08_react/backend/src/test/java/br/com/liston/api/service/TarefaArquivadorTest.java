@@ -0,0 +1,54 @@
+package br.com.liston.api.service;
+
+import br.com.liston.api.dto.TarefaRequestDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "liston.arquivo.lote=2")
+class TarefaArquivadorTest {
+
+    private static final String DONO = "alice";
+
+    @Autowired
+    private TarefaArquivador arquivador;
+
+    @Autowired
+    private TarefaService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void arquivar_MoveSoConcluidasAntigasEmLotes() {
+        List<Long> antigas = List.of(concluida("Old 1"), concluida("Old 2"), concluida("Old 3"));
+        Long recente = concluida("Recent");
+        Long pendente = service.criar(DONO, new TarefaRequestDTO("Pending", null, false)).id();
+        for (Long id : antigas) {
+            jdbc.update("update tarefas set data_atualizacao = ? where id = ?", LocalDateTime.now().minusDays(31), id);
+        }
+
+        assertEquals(3, arquivador.arquivar()); // Two batches: 2 + 1
+
+        List<Long> ativas = service.listarTodas(DONO).stream().map(TarefaResponseDTO::id).toList();
+        assertTrue(ativas.containsAll(List.of(recente, pendente)));
+        assertTrue(antigas.stream().noneMatch(ativas::contains));
+
+        List<Long> arquivadas = service.listarArquivadas(DONO, 0, 50).stream().map(TarefaResponseDTO::id).toList();
+        assertTrue(arquivadas.containsAll(antigas));
+        assertEquals(2, service.listarArquivadas(DONO, 0, 2).size());
+
+        assertEquals(0, arquivador.arquivar());
+    }
+
+    private Long concluida(String titulo) {
+        return service.criar(DONO, new TarefaRequestDTO(titulo, null, true)).id();
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.liston.api.service;
+
+import br.com.liston.api.dto.TarefaEventoDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TarefaEventBusTest {
+
+    private final TarefaEventBus eventBus = new TarefaEventBus();
+
+    @AfterEach
+    void tearDown() {
+        eventBus.encerrar();
+    }
+
+    @Test
+    void publicar_EntregaDeltasNaOrdem() throws Exception {
+        EmitterGravador emitter = new EmitterGravador(new CountDownLatch(0));
+        eventBus.registrar("alice", emitter);
+
+        eventBus.publicar(TarefaEventoDTO.criada("alice", tarefa(1L)));
+        eventBus.publicar(TarefaEventoDTO.criada("bob", tarefa(2L))); // Another owner's task is not streamed
+        eventBus.publicar(TarefaEventoDTO.removida("alice", 1L));
+
+        List<TarefaEventoDTO> recebidos = emitter.aguardar(3);
+        assertEquals(3, recebidos.size());
+        assertEquals(TarefaEventoDTO.Tipo.RESYNC, recebidos.get(0).tipo());
+        assertEquals(TarefaEventoDTO.Tipo.CREATED, recebidos.get(1).tipo());
+        assertEquals(TarefaEventoDTO.Tipo.DELETED, recebidos.get(2).tipo());
+    }
+
+    @Test
+    void publicar_AssinanteLento_DescartaDeltasEPedeResync() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        EmitterGravador emitter = new EmitterGravador(liberar);
+        eventBus.registrar("alice", emitter);
+        assertTrue(emitter.primeiroEnvio.await(5, TimeUnit.SECONDS)); // Sender is stuck on the initial resync
+
+        for (long id = 1; id <= TarefaEventBus.BUFFER_POR_ASSINANTE + 10; id++) {
+            eventBus.publicar(TarefaEventoDTO.criada("alice", tarefa(id)));
+        }
+        liberar.countDown();
+
+        List<TarefaEventoDTO> recebidos = emitter.aguardar(11);
+        assertEquals(TarefaEventoDTO.Tipo.RESYNC, recebidos.get(1).tipo());
+        assertEquals(TarefaEventoDTO.Tipo.CREATED, recebidos.get(2).tipo());
+        assertTrue(recebidos.size() < TarefaEventBus.BUFFER_POR_ASSINANTE);
+        assertEquals(1, eventBus.totalAssinantes());
+    }
+
+    private static TarefaResponseDTO tarefa(Long id) {
+        LocalDateTime agora = LocalDateTime.now();
+        return new TarefaResponseDTO(id, "Task " + id, null, false, agora, agora);
+    }
+
+    // Records the streamed events; the first send blocks until 'liberar' opens
+    private static class EmitterGravador extends SseEmitter {
+        private final CountDownLatch liberar;
+        private final CountDownLatch primeiroEnvio = new CountDownLatch(1);
+        private final List<TarefaEventoDTO> recebidos = new CopyOnWriteArrayList<>();
+
+        EmitterGravador(CountDownLatch liberar) {
+            this.liberar = liberar;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            primeiroEnvio.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            builder.build().stream()
+                    .map(parte -> parte.getData())
+                    .filter(TarefaEventoDTO.class::isInstance)
+                    .map(TarefaEventoDTO.class::cast)
+                    .forEach(recebidos::add);
+        }
+
+        List<TarefaEventoDTO> aguardar(int minimo) throws InterruptedException {
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (recebidos.size() < minimo && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(50); // Lets any trailing events arrive
+            assertTrue(recebidos.size() >= minimo, "Received only " + recebidos.size());
+            return recebidos;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.liston.api.service;
+
+import br.com.liston.api.dto.TarefaRequestDTO;
+import br.com.liston.api.dto.TarefaResponseDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TarefaServiceCacheTest {
+
+    private static final String DONO = "alice";
+
+    @Autowired
+    private TarefaService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void buscarPorId_Repetido_NaoExecutaSqlMesmoComEscritasEmOutraTarefa() {
+        Long id = service.criar(DONO, new TarefaRequestDTO("Cached task", null, false)).id();
+        Long outra = service.criar(DONO, new TarefaRequestDTO("Other task", null, false)).id();
+        service.buscarPorId(DONO, id); // Warms the cache if the insert did not
+
+        // Another task's write clears the query cache but not this task's entry in the entity region
+        service.atualizar(DONO, outra, new TarefaRequestDTO(null, null, true));
+        estatisticas.clear();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Cached task", service.buscarPorId(DONO, id).titulo());
+        }
+
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertEquals(3, estatisticas.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void listarTodas_UsaQueryCacheEInvalidaAoAtualizar() {
+        Long id = service.criar(DONO, new TarefaRequestDTO("Listed task", null, false)).id();
+        service.listarTodas(DONO);
+
+        estatisticas.clear();
+        service.listarTodas(DONO);
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getQueryCacheHitCount());
+
+        service.atualizar(DONO, id, new TarefaRequestDTO(null, null, true));
+        TarefaResponseDTO atualizada = service.listarTodas(DONO).stream()
+                .filter(tarefa -> tarefa.id().equals(id))
+                .findFirst().orElseThrow();
+        assertTrue(atualizada.concluida());
+    }
+
+    @Test
+    void actuator_ExpoeEstatisticasDoCacheSoComAutenticacao() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests")
+                        .param("tag", "region:tarefas"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests")
+                        .param("tag", "region:tarefas")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[?(@.tag == 'result')]").exists());
+
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+}
@@ -7,9 +7,28 @@ const HomePage = () => {
     const [loading, setLoading] = useState(true);
 
     useEffect(() => {
-        loadTasks();
+        // The feed starts with a 'RESYNC' event, which triggers the initial load
+        const unsubscribe = TaskService.subscribe(applyEvent);
+        return unsubscribe;
     }, []);
 
+    // Applies a server delta instead of refetching the whole list
+    const applyEvent = (event) => {
+        switch (event.tipo) {
+            case 'CREATED':
+                setTasks(current => current.some(t => t.id === event.id) ? current : [...current, event.tarefa]);
+                break;
+            case 'UPDATED':
+                setTasks(current => current.map(t => t.id === event.id ? event.tarefa : t));
+                break;
+            case 'DELETED':
+                setTasks(current => current.filter(t => t.id !== event.id));
+                break;
+            default: // RESYNC: events were missed, reload everything
+                loadTasks();
+        }
+    };
+
     const loadTasks = async () => {
         try {
             const data = await TaskService.getAll();
@@ -25,7 +44,7 @@ const HomePage = () => {
         if (window.confirm("Are you sure you want to delete this task?")) {
             try {
                 await TaskService.delete(id);
-                loadTasks();
+                applyEvent({ tipo: 'DELETED', id });
             } catch (error) {
                 console.error("Error deleting task", error);
             }
@@ -34,8 +53,8 @@ const HomePage = () => {
 
     const toggleComplete = async (task) => {
         try {
-            await TaskService.update(task.id, { ...task, concluida: !task.concluida });
-            loadTasks();
+            const updated = await TaskService.update(task.id, { ...task, concluida: !task.concluida });
+            applyEvent({ tipo: 'UPDATED', id: updated.id, tarefa: updated });
         } catch (error) {
             console.error("Error updating task", error);
         }
@@ -1,4 +1,4 @@
-import api from './api';
+import api, { getToken } from './api';
 
 const TaskService = {
     getAll: async () => {
@@ -9,9 +9,18 @@ const TaskService = {
         const response = await api.get(`/tarefas/${id}`);
         return response.data;
     },
+    // The same Idempotency-Key goes with the retry, so a request that reached the
+    // server before the connection dropped does not create the task twice
     create: async (task) => {
-        const response = await api.post('/tarefas', task);
-        return response.data;
+        const headers = { 'Idempotency-Key': crypto.randomUUID() };
+        try {
+            const response = await api.post('/tarefas', task, { headers });
+            return response.data;
+        } catch (error) {
+            if (error.response) throw error;
+            const response = await api.post('/tarefas', task, { headers });
+            return response.data;
+        }
     },
     update: async (id, task) => {
         const response = await api.put(`/tarefas/${id}`, task);
@@ -19,6 +28,23 @@ const TaskService = {
     },
     delete: async (id) => {
         await api.delete(`/tarefas/${id}`);
+    },
+    // Opens the SSE change feed; returns a function that closes it.
+    // EventSource cannot send headers, so the token goes in the query string.
+    subscribe: (onEvent) => {
+        let source = null;
+        let closed = false;
+        getToken().then(token => {
+            if (closed) return;
+            source = new EventSource(`${api.defaults.baseURL}/tarefas/stream?access_token=${encodeURIComponent(token)}`);
+            ['created', 'updated', 'deleted', 'resync'].forEach(type =>
+                source.addEventListener(type, (event) => onEvent(JSON.parse(event.data)))
+            );
+        }).catch(error => console.error('Change feed not opened', error));
+        return () => {
+            closed = true;
+            source?.close();
+        };
     }
 };
 
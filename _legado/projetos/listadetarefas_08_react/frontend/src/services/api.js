@@ -1,10 +1,64 @@
 import axios from 'axios';
 
+const API_URL = 'http://localhost:8080/api';
+const TOKEN_KEY = 'liston.token';
+// Identity comes from configuration (see .env.example), never from a hard-coded user:
+// - VITE_LISTON_TOKEN: a bearer token issued for this user by the deployment's identity provider;
+// - VITE_LISTON_DEV_USER: development only, asks the backend ('dev' profile) for a token via POST /api/auth/token.
+const CONFIGURED_TOKEN = import.meta.env.VITE_LISTON_TOKEN;
+const DEV_USER = import.meta.env.VITE_LISTON_DEV_USER;
+
+export class MissingTokenError extends Error {
+    constructor() {
+        super('No API token: sign in, or set VITE_LISTON_TOKEN (or VITE_LISTON_DEV_USER with the backend in the dev profile).');
+        this.name = 'MissingTokenError';
+    }
+}
+
 const api = axios.create({
-    baseURL: 'http://localhost:8080/api',
+    baseURL: API_URL,
     headers: {
         'Content-Type': 'application/json',
     },
 });
 
+// Stores the token obtained by a login step; null signs out
+export const setToken = (token) => {
+    if (token) {
+        localStorage.setItem(TOKEN_KEY, token);
+    } else {
+        localStorage.removeItem(TOKEN_KEY);
+    }
+};
+
+// Token from the login step, then the configured token, then a development token; fails when there is none
+export const getToken = async () => {
+    const stored = localStorage.getItem(TOKEN_KEY);
+    if (stored) return stored;
+    if (CONFIGURED_TOKEN) return CONFIGURED_TOKEN;
+    if (!DEV_USER) throw new MissingTokenError();
+
+    const response = await axios.post(`${API_URL}/auth/token`, null, { params: { usuario: DEV_USER } });
+    setToken(response.data.token);
+    return response.data.token;
+};
+
+api.interceptors.request.use(async (config) => {
+    config.headers.Authorization = `Bearer ${await getToken()}`;
+    return config;
+});
+
+// Expired or rejected token: drops it; only a development token can be fetched again, so only then retry once
+api.interceptors.response.use(undefined, async (error) => {
+    const config = error.config;
+    if (error.response?.status === 401) {
+        setToken(null);
+        if (DEV_USER && config && !config._retried) {
+            config._retried = true;
+            return api(config);
+        }
+    }
+    return Promise.reject(error);
+});
+
 export default api;
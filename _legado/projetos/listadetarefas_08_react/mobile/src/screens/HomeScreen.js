@@ -2,6 +2,7 @@ import React, { useEffect, useState, useCallback } from 'react';
 import { View, Text, FlatList, TouchableOpacity, StyleSheet, Alert, RefreshControl } from 'react-native';
 import { useFocusEffect } from '@react-navigation/native';
 import TaskService from '../services/TaskService';
+import { SemTokenError } from '../services/api';
 
 const HomeScreen = ({ navigation }) => {
     const [tasks, setTasks] = useState([]);
@@ -14,7 +15,7 @@ const HomeScreen = ({ navigation }) => {
             setTasks(data);
         } catch (error) {
             console.error("Error loading tasks", error);
-            Alert.alert("Erro", "Não foi possível carregar as tarefas.");
+            Alert.alert("Erro", error instanceof SemTokenError ? error.message : "Não foi possível carregar as tarefas.");
         } finally {
             setLoading(false);
             setRefreshing(false);
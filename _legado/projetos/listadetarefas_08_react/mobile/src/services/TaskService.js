@@ -1,5 +1,8 @@
 import api from './api';
 
+// crypto.randomUUID is not available on every React Native engine
+const novaChave = () => `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}${Math.random().toString(36).slice(2)}`;
+
 const TaskService = {
     getAll: async () => {
         const response = await api.get('/tarefas');
@@ -9,9 +12,18 @@ const TaskService = {
         const response = await api.get(`/tarefas/${id}`);
         return response.data;
     },
+    // The same Idempotency-Key goes with the retry, so a request that reached the
+    // server before the connection dropped does not create the task twice
     create: async (task) => {
-        const response = await api.post('/tarefas', task);
-        return response.data;
+        const headers = { 'Idempotency-Key': novaChave() };
+        try {
+            const response = await api.post('/tarefas', task, { headers });
+            return response.data;
+        } catch (error) {
+            if (error.response) throw error;
+            const response = await api.post('/tarefas', task, { headers });
+            return response.data;
+        }
     },
     update: async (id, task) => {
         const response = await api.put(`/tarefas/${id}`, task);
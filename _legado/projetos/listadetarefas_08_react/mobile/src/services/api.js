@@ -3,6 +3,21 @@ import axios from 'axios';
 // Para Android Emulator use 10.0.2.2
 // Para dispositivo físico, use o IP da sua máquina (ex: 192.168.1.X)
 const API_URL = 'http://10.0.2.2:8080/api';
+// A identidade vem da configuração (veja .env.example), nunca de um usuário fixo no código:
+// - EXPO_PUBLIC_LISTON_TOKEN: token (JWT) emitido para o usuário pelo provedor de identidade;
+// - EXPO_PUBLIC_LISTON_DEV_USER: apenas desenvolvimento, pede um token ao backend (perfil 'dev') em POST /api/auth/token.
+const TOKEN_CONFIGURADO = process.env.EXPO_PUBLIC_LISTON_TOKEN;
+const DEV_USER = process.env.EXPO_PUBLIC_LISTON_DEV_USER;
+
+export class SemTokenError extends Error {
+    constructor() {
+        super('Sem token para a API: entre com um usuário ou defina EXPO_PUBLIC_LISTON_TOKEN '
+            + '(ou EXPO_PUBLIC_LISTON_DEV_USER com o backend no perfil dev).');
+        this.name = 'SemTokenError';
+    }
+}
+
+let token = null; // Token da etapa de login ou de desenvolvimento
 
 const api = axios.create({
     baseURL: API_URL,
@@ -11,4 +26,39 @@ const api = axios.create({
     },
 });
 
+// Guarda o token obtido numa etapa de login; null sai
+export const setToken = (novo) => {
+    token = novo || null;
+};
+
+// Token do login, depois o configurado, depois um de desenvolvimento; falha se não houver nenhum
+const getToken = async () => {
+    if (token) return token;
+    if (TOKEN_CONFIGURADO) return TOKEN_CONFIGURADO;
+    if (!DEV_USER) throw new SemTokenError();
+
+    const response = await axios.post(`${API_URL}/auth/token`, null, { params: { usuario: DEV_USER } });
+    token = response.data.token;
+    return token;
+};
+
+// Envia o token (JWT) em todas as requisições; o backend só devolve as tarefas do dono
+api.interceptors.request.use(async (config) => {
+    config.headers.Authorization = `Bearer ${await getToken()}`;
+    return config;
+});
+
+// Token expirado ou rejeitado: descarta; só um token de desenvolvimento pode ser pedido de novo, então só aí tenta mais uma vez
+api.interceptors.response.use(undefined, async (error) => {
+    const config = error.config;
+    if (error.response?.status === 401) {
+        token = null;
+        if (DEV_USER && config && !config._retried) {
+            config._retried = true;
+            return api(config);
+        }
+    }
+    return Promise.reject(error);
+});
+
 export default api;